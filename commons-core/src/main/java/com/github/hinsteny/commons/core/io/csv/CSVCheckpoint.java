@@ -0,0 +1,122 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * csv导入检查点
+ * <p>
+ * 在本地文件中保存最后提交的字节偏移和已处理的记录数，提交时先写入同目录下的临时文件并刷盘，
+ * 再原子替换检查点文件，进程在任何时刻崩溃都不会留下写了一半的检查点
+ * </p>
+ * <pre>
+ *     CSVCheckpoint checkpoint = new CSVCheckpoint(Paths.get("orders.csv.checkpoint"));
+ *     CSVReader reader = CSVReader.open(path, StandardCharsets.UTF_8, CSVFormat.DEFAULT);
+ *     reader.seek(checkpoint.getOffset());
+ *     long records = checkpoint.getRecords();
+ *     ReadableCSVLine line;
+ *     while ((line = reader.nextCSVLine()) != null) {
+ *         handle(line);
+ *         if (++records % 100000 == 0) {
+ *             checkpoint.commit(reader.getRecordEndOffset(), records);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version CSVCheckpoint: CSVCheckpoint 2026-10-18 16:20 All rights reserved.$
+ */
+public class CSVCheckpoint {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * 检查点文件
+     */
+    private final Path file;
+
+    /**
+     * 最后提交的字节偏移
+     */
+    private long offset;
+
+    /**
+     * 最后提交时已处理的记录数
+     */
+    private long records;
+
+    /**
+     * 打开检查点，检查点文件存在时读取最后提交的位置，不存在时从头开始
+     *
+     * @param file 检查点文件
+     * @throws IOException 读取失败或内容格式错误
+     */
+    public CSVCheckpoint(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() < 2) {
+                throw new IOException("invalid csv checkpoint file " + file);
+            }
+            try {
+                this.offset = Long.parseLong(lines.get(0).trim());
+                this.records = Long.parseLong(lines.get(1).trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("invalid csv checkpoint file " + file, e);
+            }
+        }
+    }
+
+    /**
+     * 提交检查点
+     *
+     * @param offset 下一条待处理记录的字节偏移
+     * @param records 已处理的记录数
+     * @throws IOException IO异常
+     */
+    public void commit(long offset, long records) throws IOException {
+        if (offset < 0 || records < 0) {
+            throw new IllegalArgumentException("offset and records can't less than zero");
+        }
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        byte[] content = (offset + "\n" + records + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        this.offset = offset;
+        this.records = records;
+    }
+
+    /**
+     * 导入完成后删除检查点
+     *
+     * @throws IOException IO异常
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(file);
+        this.offset = 0;
+        this.records = 0;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定字段在csv表头中对应的列名，未标注时使用字段名.
+ *
+ * @author Hinsteny
+ * @version CSVColumn: CSVColumn 2026-10-18 13:50 All rights reserved.$
+ * @see CSVMapper
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CSVColumn {
+
+    /**
+     * 列名
+     *
+     * @return 表头中的列名
+     */
+    String value();
+
+}
@@ -0,0 +1,239 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+/**
+ * csv方言
+ * <p>
+ * 描述列分隔符、引号、转义符、注释行标记和写出时的行分隔符，由{@link CSVReader}、{@link CSVWriter}、
+ * {@link ReadableCSVLine}和{@link WritableCSVLine}共享；对象不可变，可以在多个线程间共享
+ * </p>
+ * <ul>
+ * <li>未设置转义符时按RFC 4180处理，引号列中的引号以两个连续引号表示</li>
+ * <li>设置了转义符时，转义符后的字符按普通字符处理，写出时引号与转义符前会加上转义符</li>
+ * <li>设置了注释行标记时，以该字符开头的行在读取时被跳过，写出时以该字符开头的列会加引号</li>
+ * </ul>
+ * <pre>
+ *     CSVFormat format = CSVFormat.builder().delimiter(';').commentMarker('#').build();
+ *     CSVReader reader = new CSVReader(stream, charset, format);
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version CSVFormat: CSVFormat 2026-10-18 14:30 All rights reserved.$
+ */
+public final class CSVFormat {
+
+    /**
+     * RFC 4180格式, 逗号分隔
+     */
+    public static final CSVFormat DEFAULT = builder().build();
+
+    /**
+     * 制表符分隔
+     */
+    public static final CSVFormat TSV = builder().delimiter('\t').build();
+
+    /**
+     * 竖线分隔
+     */
+    public static final CSVFormat PIPE = builder().delimiter('|').build();
+
+    /**
+     * 分号分隔, 常见于欧洲地区导出的文件
+     */
+    public static final CSVFormat SEMICOLON = builder().delimiter(';').build();
+
+    /**
+     * 列分隔符
+     */
+    private final char delimiter;
+
+    /**
+     * 引号
+     */
+    private final char quote;
+
+    /**
+     * 转义符
+     */
+    private final char escape;
+
+    /**
+     * 是否设置了转义符
+     */
+    private final boolean escapeEnabled;
+
+    /**
+     * 注释行标记
+     */
+    private final char commentMarker;
+
+    /**
+     * 是否设置了注释行标记
+     */
+    private final boolean commentEnabled;
+
+    /**
+     * 写出时的行分隔符
+     */
+    private final String recordSeparator;
+
+    private CSVFormat(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.quote = builder.quote;
+        this.escape = builder.escape;
+        this.escapeEnabled = builder.escapeEnabled;
+        this.commentMarker = builder.commentMarker;
+        this.commentEnabled = builder.commentEnabled;
+        this.recordSeparator = builder.recordSeparator;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 以当前方言为基础构建新的方言
+     *
+     * @return 方言构造器
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.delimiter = this.delimiter;
+        builder.quote = this.quote;
+        builder.escape = this.escape;
+        builder.escapeEnabled = this.escapeEnabled;
+        builder.commentMarker = this.commentMarker;
+        builder.commentEnabled = this.commentEnabled;
+        builder.recordSeparator = this.recordSeparator;
+        return builder;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    public char getEscape() {
+        return escape;
+    }
+
+    public boolean isEscapeEnabled() {
+        return escapeEnabled;
+    }
+
+    public char getCommentMarker() {
+        return commentMarker;
+    }
+
+    public boolean isCommentEnabled() {
+        return commentEnabled;
+    }
+
+    public String getRecordSeparator() {
+        return recordSeparator;
+    }
+
+    @Override
+    public String toString() {
+        return "CSVFormat{delimiter=" + printable(delimiter) + ", quote=" + printable(quote)
+            + ", escape=" + (escapeEnabled ? printable(escape) : "none")
+            + ", commentMarker=" + (commentEnabled ? printable(commentMarker) : "none")
+            + ", recordSeparator=" + recordSeparator.replace("\r", "\\r").replace("\n", "\\n") + "}";
+    }
+
+    private static String printable(char c) {
+        return c == '\t' ? "\\t" : String.valueOf(c);
+    }
+
+    /**
+     * csv方言构造器, 默认值与{@link #DEFAULT}一致
+     */
+    public static class Builder {
+
+        private char delimiter = CSVLine.COMMA;
+
+        private char quote = CSVLine.DOUBLE_QUOTE;
+
+        private char escape;
+
+        private boolean escapeEnabled;
+
+        private char commentMarker;
+
+        private boolean commentEnabled;
+
+        private String recordSeparator = "\n";
+
+        public Builder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public Builder quote(char quote) {
+            this.quote = quote;
+            return this;
+        }
+
+        /**
+         * 设置转义符，与引号相同时等同于RFC 4180的双写引号
+         *
+         * @param escape 转义符
+         * @return 当前构造器
+         */
+        public Builder escape(char escape) {
+            this.escape = escape;
+            this.escapeEnabled = escape != this.quote;
+            return this;
+        }
+
+        public Builder commentMarker(char commentMarker) {
+            this.commentMarker = commentMarker;
+            this.commentEnabled = true;
+            return this;
+        }
+
+        public Builder recordSeparator(String recordSeparator) {
+            this.recordSeparator = recordSeparator;
+            return this;
+        }
+
+        /**
+         * 构建方言，分隔符、引号、转义符和注释行标记不能相同，也不能是换行符
+         *
+         * @return csv方言
+         */
+        public CSVFormat build() {
+            escapeEnabled = escapeEnabled && escape != quote;
+            checkNotLineBreak(delimiter, "delimiter");
+            checkNotLineBreak(quote, "quote");
+            if (delimiter == quote) {
+                throw new IllegalArgumentException("delimiter and quote can't be the same char");
+            }
+            if (escapeEnabled) {
+                checkNotLineBreak(escape, "escape");
+                if (escape == delimiter) {
+                    throw new IllegalArgumentException("delimiter and escape can't be the same char");
+                }
+            }
+            if (commentEnabled) {
+                checkNotLineBreak(commentMarker, "commentMarker");
+                if (commentMarker == delimiter || commentMarker == quote || (escapeEnabled && commentMarker == escape)) {
+                    throw new IllegalArgumentException("commentMarker can't be the same as delimiter, quote or escape");
+                }
+            }
+            if (recordSeparator == null || recordSeparator.isEmpty()) {
+                throw new IllegalArgumentException("recordSeparator can't be empty");
+            }
+            return new CSVFormat(this);
+        }
+
+        private static void checkNotLineBreak(char c, String name) {
+            if (c == '\n' || c == '\r') {
+                throw new IllegalArgumentException(name + " can't be a line break");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,589 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * csv与Java对象之间的映射工具
+ * <p>
+ * 按表头列名绑定目标类的字段(列名默认为字段名，可通过{@link CSVColumn}指定)，字段通过JavaBean的getter/setter读写。
+ * 每个类的构造器与getter/setter只在第一次使用时通过{@link LambdaMetafactory}生成一次访问器并缓存，逐行读写时不再有反射调用，
+ * 读取时通过{@link CSVRecordCursor}原地解析数值列
+ * </p>
+ * 支持的字段类型: String、int/Integer、long/Long、double/Double、float/Float、boolean/Boolean、BigDecimal，其他类型的字段会被忽略；
+ * 目标类需要有无参构造器，位于具名模块中时需要把所在包开放(opens)给本模块
+ * <pre>
+ *     CSVMapper&lt;Order&gt; mapper = CSVMapper.of(Order.class);
+ *     List&lt;Order&gt; orders = mapper.readAll(reader);
+ *     mapper.writeAll(writer, orders);
+ * </pre>
+ *
+ * @param <T> 目标类型
+ * @author Hinsteny
+ * @version CSVMapper: CSVMapper 2026-10-18 13:52 All rights reserved.$
+ */
+public class CSVMapper<T> {
+
+    /**
+     * 每个类只生成一次映射
+     */
+    private static final ClassValue<CSVMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected CSVMapper<?> computeValue(Class<?> type) {
+            return new CSVMapper<>(type);
+        }
+    };
+
+    private static final char BOM = '\uFEFF';
+
+    private static final int STRING = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int FLOAT = 4;
+    private static final int BOOLEAN = 5;
+    private static final int DECIMAL = 6;
+
+    /**
+     * 目标类型
+     */
+    private final Class<T> type;
+
+    /**
+     * 构造器
+     */
+    private final Supplier<T> constructor;
+
+    /**
+     * 按字段声明顺序排列的所有列, 父类字段在前
+     */
+    private final List<Column<T>> columns;
+
+    /**
+     * 列名与列的对应关系
+     */
+    private final Map<String, Column<T>> columnsByName;
+
+    /**
+     * 获取目标类的映射
+     *
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 映射
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CSVMapper<T> of(Class<T> type) {
+        return (CSVMapper<T>) MAPPERS.get(type);
+    }
+
+    private CSVMapper(Class<T> type) {
+        this.type = type;
+        Lookup lookup = lookupFor(type);
+        this.constructor = createConstructor(lookup, type);
+        List<Column<T>> columns = new ArrayList<>();
+        Map<String, Column<T>> columnsByName = new HashMap<>(16);
+        for (Field field : fieldsOf(type)) {
+            Column<T> column = createColumn(lookup, type, field);
+            if (column != null && !columnsByName.containsKey(column.name)) {
+                columns.add(column);
+                columnsByName.put(column.name, column);
+            }
+        }
+        this.columns = Collections.unmodifiableList(columns);
+        this.columnsByName = columnsByName;
+    }
+
+    /**
+     * 读取所有对象，第一条记录为表头
+     *
+     * @param reader csv reader
+     * @return 对象列表
+     * @throws IOException IO异常
+     */
+    public List<T> readAll(CSVReader reader) throws IOException {
+        List<T> result = new ArrayList<>();
+        read(reader, result::add);
+        return result;
+    }
+
+    /**
+     * 逐条读取对象并交给消费者处理，第一条记录为表头，表头中无法绑定的列会被忽略
+     *
+     * @param reader csv reader
+     * @param consumer 对象消费者
+     * @throws IOException IO异常
+     */
+    public void read(CSVReader reader, Consumer<T> consumer) throws IOException {
+        CSVRecordCursor cursor = reader.cursor();
+        if (!cursor.next()) {
+            return;
+        }
+        //绑定表头
+        int headerCount = cursor.fieldCount();
+        List<Column<T>> bound = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            String name = cursor.getString(i);
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == BOM) {
+                name = name.substring(1);
+            }
+            Column<T> column = columnsByName.get(name);
+            bound.add(column != null && column.readable() ? column : null);
+        }
+        @SuppressWarnings("unchecked")
+        Column<T>[] binding = bound.toArray(new Column[0]);
+        while (cursor.next()) {
+            T target = constructor.get();
+            int count = Math.min(binding.length, cursor.fieldCount());
+            for (int i = 0; i < count; i++) {
+                if (binding[i] != null) {
+                    binding[i].read(cursor, i, target);
+                }
+            }
+            consumer.accept(target);
+        }
+    }
+
+    /**
+     * 写入表头和所有对象
+     *
+     * @param writer csv writer
+     * @param items 对象集合
+     * @throws IOException IO异常
+     */
+    public void writeAll(CSVWriter writer, Iterable<T> items) throws IOException {
+        writeHeader(writer);
+        for (T item : items) {
+            write(writer, item);
+        }
+    }
+
+    /**
+     * 写入表头，包含所有可读取的字段
+     *
+     * @param writer csv writer
+     * @throws IOException IO异常
+     */
+    public void writeHeader(CSVWriter writer) throws IOException {
+        for (Column<T> column : columns) {
+            if (column.writable()) {
+                writer.writeField(column.name);
+            }
+        }
+        writer.endLine();
+    }
+
+    /**
+     * 写入一个对象，列顺序与{@link #writeHeader(CSVWriter)}一致
+     *
+     * @param writer csv writer
+     * @param item 对象
+     * @throws IOException IO异常
+     */
+    public void write(CSVWriter writer, T item) throws IOException {
+        for (Column<T> column : columns) {
+            if (column.writable()) {
+                column.write(writer, item);
+            }
+        }
+        writer.endLine();
+    }
+
+    /**
+     * 获取目标类型
+     *
+     * @return 目标类型
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 获取可在目标类内部生成访问器的lookup
+     */
+    private static Lookup lookupFor(Class<?> type) {
+        Module module = CSVMapper.class.getModule();
+        if (!module.canRead(type.getModule())) {
+            module.addReads(type.getModule());
+        }
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access [" + type.getName() + "], its package should be opened to "
+                + module.getName(), e);
+        }
+    }
+
+    /**
+     * 收集字段, 父类字段在前
+     */
+    private static List<Field> fieldsOf(Class<?> type) {
+        LinkedList<Field> fields = new LinkedList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            Field[] declared = current.getDeclaredFields();
+            for (int i = declared.length - 1; i >= 0; i--) {
+                int modifiers = declared[i].getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                    fields.addFirst(declared[i]);
+                }
+            }
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> createConstructor(Lookup lookup, Class<T> type) {
+        MethodHandle handle;
+        try {
+            handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not find no-arg constructor on [" + type.getName() + "]", e);
+        }
+        return (Supplier<T>) spin(lookup, Supplier.class, "get", MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Column<T> createColumn(Lookup lookup, Class<T> type, Field field) {
+        Class<?> fieldType = field.getType();
+        int kind = kindOf(fieldType);
+        if (kind < 0) {
+            return null;
+        }
+        String property = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        MethodHandle setter = findMethod(lookup, type, "set" + property, MethodType.methodType(void.class, fieldType));
+        MethodHandle getter = findMethod(lookup, type, "get" + property, MethodType.methodType(fieldType));
+        if (getter == null && (fieldType == boolean.class || fieldType == Boolean.class)) {
+            getter = findMethod(lookup, type, "is" + property, MethodType.methodType(fieldType));
+        }
+        if (setter == null && getter == null) {
+            return null;
+        }
+        CSVColumn annotation = field.getAnnotation(CSVColumn.class);
+        Column<T> column = new Column<>(annotation != null ? annotation.value() : field.getName(), kind, fieldType.isPrimitive());
+        Class<?> boxed = MethodType.methodType(fieldType).wrap().returnType();
+        if (setter != null) {
+            if (fieldType == int.class) {
+                column.intSetter = (ObjIntConsumer<T>) spin(lookup, ObjIntConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, int.class), setter, MethodType.methodType(void.class, type, int.class));
+            } else if (fieldType == long.class) {
+                column.longSetter = (ObjLongConsumer<T>) spin(lookup, ObjLongConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, long.class), setter, MethodType.methodType(void.class, type, long.class));
+            } else if (fieldType == double.class) {
+                column.doubleSetter = (ObjDoubleConsumer<T>) spin(lookup, ObjDoubleConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, double.class), setter, MethodType.methodType(void.class, type, double.class));
+            } else {
+                column.setter = (BiConsumer<T, Object>) spin(lookup, BiConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, Object.class), setter, MethodType.methodType(void.class, type, boxed));
+            }
+        }
+        if (getter != null) {
+            if (fieldType == int.class) {
+                column.intGetter = (ToIntFunction<T>) spin(lookup, ToIntFunction.class, "applyAsInt",
+                    MethodType.methodType(int.class, Object.class), getter, MethodType.methodType(int.class, type));
+            } else if (fieldType == long.class) {
+                column.longGetter = (ToLongFunction<T>) spin(lookup, ToLongFunction.class, "applyAsLong",
+                    MethodType.methodType(long.class, Object.class), getter, MethodType.methodType(long.class, type));
+            } else if (fieldType == double.class) {
+                column.doubleGetter = (ToDoubleFunction<T>) spin(lookup, ToDoubleFunction.class, "applyAsDouble",
+                    MethodType.methodType(double.class, Object.class), getter, MethodType.methodType(double.class, type));
+            } else {
+                column.getter = (Function<T, Object>) spin(lookup, Function.class, "apply",
+                    MethodType.methodType(Object.class, Object.class), getter, MethodType.methodType(boxed, type));
+            }
+        }
+        return column;
+    }
+
+    private static int kindOf(Class<?> fieldType) {
+        if (fieldType == String.class) {
+            return STRING;
+        } else if (fieldType == int.class || fieldType == Integer.class) {
+            return INT;
+        } else if (fieldType == long.class || fieldType == Long.class) {
+            return LONG;
+        } else if (fieldType == double.class || fieldType == Double.class) {
+            return DOUBLE;
+        } else if (fieldType == float.class || fieldType == Float.class) {
+            return FLOAT;
+        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return BOOLEAN;
+        } else if (fieldType == BigDecimal.class) {
+            return DECIMAL;
+        }
+        return -1;
+    }
+
+    private static MethodHandle findMethod(Lookup lookup, Class<?> type, String name, MethodType methodType) {
+        try {
+            return lookup.findVirtual(type, name, methodType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 通过{@link LambdaMetafactory}生成函数式接口的实现.
+     * <p>
+     * 目标类在其他模块中时(JDK 14开始), {@link MethodHandles#privateLookupIn}返回的lookup没有MODULE权限,
+     * LambdaMetafactory会拒绝生成, 此时直接调用方法句柄
+     * </p>
+     */
+    private static Object spin(Lookup lookup, Class<?> functionalInterface, String methodName, MethodType erasedType,
+        MethodHandle implementation, MethodType instantiatedType) {
+        if (!hasFullPrivilegeAccess(lookup)) {
+            return adapt(functionalInterface, implementation.asType(erasedType));
+        }
+        try {
+            return LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionalInterface), erasedType,
+                implementation, instantiatedType).getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not generate accessor for " + implementation, e);
+        }
+    }
+
+    /**
+     * 与JDK 14的Lookup.hasFullPrivilegeAccess()一致: 同时拥有PRIVATE和MODULE权限
+     */
+    private static boolean hasFullPrivilegeAccess(Lookup lookup) {
+        int full = Lookup.PRIVATE | Lookup.MODULE;
+        return (lookup.lookupModes() & full) == full;
+    }
+
+    /**
+     * 把方法句柄适配为函数式接口, 句柄的类型需要与接口方法擦除后的类型一致
+     */
+    private static Object adapt(Class<?> functionalInterface, MethodHandle handle) {
+        if (functionalInterface == Supplier.class) {
+            return (Supplier<Object>) () -> {
+                try {
+                    return (Object) handle.invokeExact();
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == BiConsumer.class) {
+            return (BiConsumer<Object, Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ObjIntConsumer.class) {
+            return (ObjIntConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ObjLongConsumer.class) {
+            return (ObjLongConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ObjDoubleConsumer.class) {
+            return (ObjDoubleConsumer<Object>) (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == Function.class) {
+            return (Function<Object, Object>) target -> {
+                try {
+                    return (Object) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ToIntFunction.class) {
+            return (ToIntFunction<Object>) target -> {
+                try {
+                    return (int) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ToLongFunction.class) {
+            return (ToLongFunction<Object>) target -> {
+                try {
+                    return (long) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (functionalInterface == ToDoubleFunction.class) {
+            return (ToDoubleFunction<Object>) target -> {
+                try {
+                    return (double) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unsupported functional interface " + functionalInterface.getName());
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * 一个字段对应的列
+     *
+     * @param <T> 目标类型
+     */
+    private static final class Column<T> {
+
+        private final String name;
+
+        private final int kind;
+
+        private final boolean primitive;
+
+        private BiConsumer<T, Object> setter;
+        private ObjIntConsumer<T> intSetter;
+        private ObjLongConsumer<T> longSetter;
+        private ObjDoubleConsumer<T> doubleSetter;
+
+        private Function<T, Object> getter;
+        private ToIntFunction<T> intGetter;
+        private ToLongFunction<T> longGetter;
+        private ToDoubleFunction<T> doubleGetter;
+
+        private Column(String name, int kind, boolean primitive) {
+            this.name = name;
+            this.kind = kind;
+            this.primitive = primitive;
+        }
+
+        private boolean readable() {
+            return setter != null || intSetter != null || longSetter != null || doubleSetter != null;
+        }
+
+        private boolean writable() {
+            return getter != null || intGetter != null || longGetter != null || doubleGetter != null;
+        }
+
+        /**
+         * 把当前记录中的列写入对象, 非字符串类型的空列保持字段默认值
+         */
+        private void read(CSVRecordCursor cursor, int index, T target) {
+            if (kind != STRING && cursor.isEmpty(index)) {
+                return;
+            }
+            switch (kind) {
+                case STRING:
+                    setter.accept(target, cursor.getString(index));
+                    break;
+                case INT:
+                    if (primitive) {
+                        intSetter.accept(target, cursor.getInt(index));
+                    } else {
+                        setter.accept(target, cursor.getInt(index));
+                    }
+                    break;
+                case LONG:
+                    if (primitive) {
+                        longSetter.accept(target, cursor.getLong(index));
+                    } else {
+                        setter.accept(target, cursor.getLong(index));
+                    }
+                    break;
+                case DOUBLE:
+                    if (primitive) {
+                        doubleSetter.accept(target, cursor.getDouble(index));
+                    } else {
+                        setter.accept(target, cursor.getDouble(index));
+                    }
+                    break;
+                case FLOAT:
+                    setter.accept(target, Float.parseFloat(cursor.getString(index)));
+                    break;
+                case BOOLEAN:
+                    setter.accept(target, Boolean.parseBoolean(cursor.getString(index)));
+                    break;
+                default:
+                    setter.accept(target, cursor.getBigDecimal(index));
+                    break;
+            }
+        }
+
+        /**
+         * 把对象的字段写为一列, <code>null</code>写为空列
+         */
+        private void write(CSVWriter writer, T source) throws IOException {
+            if (primitive) {
+                switch (kind) {
+                    case INT:
+                        writer.writeLong(intGetter.applyAsInt(source));
+                        return;
+                    case LONG:
+                        writer.writeLong(longGetter.applyAsLong(source));
+                        return;
+                    case DOUBLE:
+                        writer.writeDouble(doubleGetter.applyAsDouble(source));
+                        return;
+                    default:
+                        break;
+                }
+            }
+            Object value = getter.apply(source);
+            if (value == null) {
+                writer.writeField(null);
+                return;
+            }
+            switch (kind) {
+                case INT:
+                case LONG:
+                    writer.writeLong(((Number) value).longValue());
+                    break;
+                case DOUBLE:
+                    writer.writeDouble((Double) value);
+                    break;
+                case DECIMAL:
+                    writer.writeDecimal((BigDecimal) value);
+                    break;
+                case STRING:
+                    writer.writeField((String) value);
+                    break;
+                default:
+                    writer.writeField(value.toString());
+                    break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+/**
+ * csv列过滤条件
+ * <p>
+ * 由{@link CSVTokenizer}在列切分完成后直接在记录缓冲区上比较，不会为被比较的列创建字符串；
+ * 一条记录中任意条件不满足时，该记录剩余的列只扫描不拷贝，也不会交给调用方
+ * </p>
+ * 列索引为文件中的原始列索引(从0开始)，与是否设置了投影无关；记录中不存在的列按空字符串比较
+ *
+ * @author Hinsteny
+ * @version CSVPredicate: CSVPredicate 2026-10-18 15:40 All rights reserved.$
+ */
+public final class CSVPredicate {
+
+    private static final int EQUAL = 0;
+
+    private static final int PREFIX = 1;
+
+    /**
+     * 原始列索引
+     */
+    private final int column;
+
+    /**
+     * 比较内容
+     */
+    private final String value;
+
+    /**
+     * 比较方式
+     */
+    private final int mode;
+
+    private CSVPredicate(int column, String value, int mode) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column can't less than zero");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value can't be null");
+        }
+        this.column = column;
+        this.value = value;
+        this.mode = mode;
+    }
+
+    /**
+     * 列内容等于指定值
+     *
+     * @param column 原始列索引
+     * @param value 指定值
+     * @return 过滤条件
+     */
+    public static CSVPredicate equalTo(int column, String value) {
+        return new CSVPredicate(column, value, EQUAL);
+    }
+
+    /**
+     * 列内容以指定前缀开头
+     *
+     * @param column 原始列索引
+     * @param prefix 前缀
+     * @return 过滤条件
+     */
+    public static CSVPredicate startsWith(int column, String prefix) {
+        return new CSVPredicate(column, prefix, PREFIX);
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * 判断列内容是否满足条件
+     *
+     * @param chars 记录缓冲区
+     * @param start 列开始位置(包含)
+     * @param end 列结束位置(不包含)
+     * @return 满足条件时返回<code>true</code>
+     */
+    boolean test(char[] chars, int start, int end) {
+        int length = value.length();
+        if (mode == EQUAL ? end - start != length : end - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "column " + column + (mode == EQUAL ? " equalTo " : " startsWith ") + value;
+    }
+
+}
@@ -1,14 +1,32 @@
 package com.github.hinsteny.commons.core.io.csv;
 
-import com.github.hinsteny.commons.core.utils.StringUtil;
-import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * CSV 读取工具类
+ * <p>
+ * 压缩文件可以通过{@link #gzip(InputStream, Charset, CSVFormat)}、{@link #zipEntry(Path, String, Charset, CSVFormat)}
+ * 和{@link #deflate(InputStream, Charset, CSVFormat, boolean)}直接读取，解压在后台线程中进行，
+ * 解压出的数据通过有界队列交给解析线程，不需要先解压到磁盘
+ * </p>
+ * <p>
+ * 通过{@link #open(Path, Charset, CSVFormat)}打开的reader会记录每条记录的字节偏移，并支持{@link #seek(long)}，
+ * 配合{@link CSVCheckpoint}可以在导入中断后从最后提交的位置继续
+ * </p>
  *
  * @author Hinsteny
  * @version CSVReader: CSVReader 2019-05-10 09:54 All rights reserved.$
@@ -16,9 +34,24 @@ import java.nio.charset.Charset;
 public class CSVReader {
 
     /**
-     * 缓冲流读取
+     * 单遍扫描的词法解析器
      */
-    private BufferedReader reader;
+    private CSVTokenizer tokenizer;
+
+    /**
+     * 记录游标
+     */
+    private CSVRecordCursor cursor;
+
+    /**
+     * 文件通道, 只有通过{@link #open(Path, Charset, CSVFormat)}打开时才存在
+     */
+    private FileChannel channel;
+
+    /**
+     * 编码
+     */
+    private Charset charset;
 
     /**
      * 构建csv reader
@@ -27,22 +60,241 @@ public class CSVReader {
      * @param charset 编码
      */
     public CSVReader(InputStream stream, Charset charset) {
-        this.reader = new BufferedReader(new InputStreamReader(stream, charset));
+        this(stream, charset, CSVTokenizer.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构建csv reader
+     *
+     * @param stream csv文件输入流
+     * @param charset 编码
+     * @param bufferSize 读取窗口大小(字符数)
+     */
+    public CSVReader(InputStream stream, Charset charset, int bufferSize) {
+        this(stream, charset, CSVFormat.DEFAULT, bufferSize);
+    }
+
+    /**
+     * 按指定方言构建csv reader
+     *
+     * @param stream csv文件输入流
+     * @param charset 编码
+     * @param format csv方言
+     */
+    public CSVReader(InputStream stream, Charset charset, CSVFormat format) {
+        this(stream, charset, format, CSVTokenizer.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 按指定方言构建csv reader
+     *
+     * @param stream csv文件输入流
+     * @param charset 编码
+     * @param format csv方言
+     * @param bufferSize 读取窗口大小(字符数)
+     */
+    public CSVReader(InputStream stream, Charset charset, CSVFormat format, int bufferSize) {
+        this.tokenizer = new CSVTokenizer(new InputStreamReader(stream, charset), bufferSize, format);
+    }
+
+    /**
+     * 打开csv文件，记录每条记录的字节偏移并支持重新定位
+     *
+     * @param path csv文件路径
+     * @param charset 编码, 只支持UTF-8和单字节编码
+     * @param format csv方言
+     * @return csv reader
+     * @throws IOException IO异常
+     */
+    public static CSVReader open(Path path, Charset charset, CSVFormat format) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            CSVReader reader = new CSVReader(Channels.newInputStream(channel), charset, format);
+            reader.tokenizer.trackOffsets(charset, 0);
+            reader.channel = channel;
+            reader.charset = charset;
+            return reader;
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取gzip压缩的csv
+     *
+     * @param stream gzip输入流
+     * @param charset 编码
+     * @param format csv方言
+     * @return csv reader, 关闭时同时关闭输入流
+     * @throws IOException gzip头格式错误等IO异常
+     */
+    public static CSVReader gzip(InputStream stream, Charset charset, CSVFormat format) throws IOException {
+        return prefetched(new GZIPInputStream(stream, PrefetchInputStream.DEFAULT_CHUNK_SIZE), charset, format);
+    }
+
+    /**
+     * 读取zip文件中的一个条目
+     *
+     * @param zip zip文件路径
+     * @param entryName 条目名称
+     * @param charset 编码
+     * @param format csv方言
+     * @return csv reader, 关闭时同时关闭zip文件
+     * @throws IOException 条目不存在等IO异常
+     */
+    public static CSVReader zipEntry(Path zip, String entryName, Charset charset, CSVFormat format) throws IOException {
+        ZipFile zipFile = new ZipFile(zip.toFile());
+        try {
+            ZipEntry entry = zipFile.getEntry(entryName);
+            if (entry == null || entry.isDirectory()) {
+                throw new FileNotFoundException("zip entry " + entryName + " not found in " + zip);
+            }
+            InputStream entryStream = new FilterInputStream(zipFile.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            };
+            return prefetched(entryStream, charset, format);
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取deflate压缩的csv
+     *
+     * @param stream deflate输入流
+     * @param charset 编码
+     * @param format csv方言
+     * @param nowrap 为<code>true</code>时读取不带zlib头的原始deflate数据
+     * @return csv reader, 关闭时同时关闭输入流
+     */
+    public static CSVReader deflate(InputStream stream, Charset charset, CSVFormat format, boolean nowrap) {
+        Inflater inflater = new Inflater(nowrap);
+        InputStream inflating = new InflaterInputStream(stream, inflater, PrefetchInputStream.DEFAULT_CHUNK_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+        return prefetched(inflating, charset, format);
+    }
+
+    /**
+     * 在后台线程中读取来源流, 与解析并行
+     */
+    private static CSVReader prefetched(InputStream source, Charset charset, CSVFormat format) {
+        InputStream prefetch = new PrefetchInputStream(source, PrefetchInputStream.DEFAULT_CHUNK_SIZE, PrefetchInputStream.DEFAULT_QUEUE_DEPTH);
+        return new CSVReader(prefetch, charset, format);
+    }
+
+    /**
+     * 设置单条记录允许的最大字符数，引号列可以跨越多个物理行，该限制用于防止未闭合的引号吞掉整个文件
+     *
+     * @param maxRecordLength 单条记录最大字符数
+     */
+    public void setMaxRecordLength(int maxRecordLength) {
+        this.tokenizer.setMaxRecordLength(maxRecordLength);
+    }
+
+    /**
+     * 只读取指定的原始列，{@link #nextCSVLine()}和{@link #cursor()}中的列按参数顺序重新排列，
+     * 未投影的列只扫描不创建字符串；需要在读取前设置
+     *
+     * @param columns 原始列索引(从0开始)
+     */
+    public void setProjection(int... columns) {
+        this.tokenizer.setProjection(columns);
+    }
+
+    /**
+     * 增加过滤条件，只返回同时满足所有条件的记录，被过滤的记录不会创建任何对象；
+     * 条件对包括表头在内的所有记录生效，需要在读取前设置
+     *
+     * @param predicate 过滤条件, 列索引为原始列索引
+     */
+    public void addPredicate(CSVPredicate predicate) {
+        this.tokenizer.addPredicate(predicate);
+    }
+
+    /**
+     * 最近读取的记录开始位置的字节偏移
+     *
+     * @return 字节偏移
+     * @throws IllegalStateException reader不是通过{@link #open(Path, Charset, CSVFormat)}打开的
+     */
+    public long getRecordOffset() {
+        return this.tokenizer.recordOffset();
+    }
+
+    /**
+     * 最近读取的记录结束位置(包含行结束符)的字节偏移，也就是下一条记录的开始位置，
+     * 处理完一条记录后把该偏移提交到{@link CSVCheckpoint}，恢复时{@link #seek(long)}到该位置即可从下一条记录继续
+     *
+     * @return 字节偏移
+     * @throws IOException IO异常
+     * @throws IllegalStateException reader不是通过{@link #open(Path, Charset, CSVFormat)}打开的
+     */
+    public long getRecordEndOffset() throws IOException {
+        return this.tokenizer.recordEndOffset();
+    }
+
+    /**
+     * 定位到指定的字节偏移，偏移必须是某条记录的开始位置，通常来自{@link #getRecordOffset()}或{@link #getRecordEndOffset()}
+     *
+     * @param offset 字节偏移
+     * @throws IOException IO异常
+     * @throws IllegalStateException reader不是通过{@link #open(Path, Charset, CSVFormat)}打开的
+     */
+    public void seek(long offset) throws IOException {
+        if (this.channel == null) {
+            throw new IllegalStateException("seek is only supported by reader opened with CSVReader.open(Path, Charset, CSVFormat)");
+        }
+        if (offset < 0 || offset > this.channel.size()) {
+            throw new IllegalArgumentException("offset " + offset + " out of file range");
+        }
+        this.channel.position(offset);
+        //旧的reader中有预读的字符, 不能继续使用, 也不能关闭(会关闭文件通道)
+        this.tokenizer.reset(new InputStreamReader(Channels.newInputStream(this.channel), this.charset), offset);
     }
 
     /**
      * 返回下一个csv行，如没有更多内容时返回<code>null</code>
+     * 按RFC 4180处理，引号中的换行符属于列内容，一个csv行可能跨越多个物理行
      *
      * @return 下一个csv行或<code>null</code>
      * @throws IOException IO异常
      */
     public ReadableCSVLine nextCSVLine() throws IOException {
-        String lineStr = this.reader.readLine();
         //空行或没有更多行
-        if (StringUtil.isNullOrEmpty(lineStr)) {
+        if (!this.tokenizer.nextRecord() || this.tokenizer.isEmptyLine()) {
             return null;
         }
-        return new ReadableCSVLine(lineStr);
+        return new ReadableCSVLine(this.tokenizer.fields());
+    }
+
+    /**
+     * 返回基于当前reader的记录游标，游标与{@link #nextCSVLine()}共享读取位置，
+     * 适合只需要少量列或数值列的场景，避免为每一列创建字符串
+     *
+     * @return 记录游标
+     */
+    public CSVRecordCursor cursor() {
+        if (this.cursor == null) {
+            this.cursor = new CSVRecordCursor(this.tokenizer);
+        }
+        return this.cursor;
     }
 
     /**
@@ -51,9 +303,9 @@ public class CSVReader {
      * @throws IOException IO异常
      */
     public void close() throws IOException {
-        if (this.reader != null) {
+        if (this.tokenizer != null) {
             try {
-                this.reader.close();
+                this.tokenizer.close();
             } catch (IOException e) {
                 throw new IOException("close csv reader exception", e);
             }
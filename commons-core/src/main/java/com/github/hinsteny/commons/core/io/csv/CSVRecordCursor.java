@@ -0,0 +1,280 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * csv记录游标
+ * <p>
+ * 直接在词法解析器的记录缓冲区上读取列内容，列以可复用的{@link CharSequence}视图暴露，
+ * 数值类列通过{@link #getInt(int)}、{@link #getLong(int)}、{@link #getDouble(int)}和{@link #getBigDecimal(int)}原地解析，
+ * 整个过程不会为每一列创建中间字符串
+ * </p>
+ * 注意: {@link #get(int)}返回的视图只在调用下一次{@link #next()}之前有效，需要保留时请使用{@link #getString(int)}
+ * <pre>
+ *     CSVRecordCursor cursor = reader.cursor();
+ *     while (cursor.next()) {
+ *         long id = cursor.getLong(0);
+ *         BigDecimal amount = cursor.getBigDecimal(3);
+ *     }
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version CSVRecordCursor: CSVRecordCursor 2026-10-18 11:05 All rights reserved.$
+ */
+public class CSVRecordCursor {
+
+    /**
+     * 不经过舍入即可精确表示的10的幂
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 快速解析double时允许的最大有效数字位数, 保证尾数可以被double精确表示
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * 底层词法解析器
+     */
+    private final CSVTokenizer tokenizer;
+
+    /**
+     * 每一列复用的视图
+     */
+    private FieldView[] views = new FieldView[16];
+
+    CSVRecordCursor(CSVTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * 移动到下一条记录，与{@link CSVReader#nextCSVLine()}一致，遇到空行或没有更多内容时返回<code>false</code>
+     *
+     * @return 存在下一条记录时返回<code>true</code>
+     * @throws IOException IO异常
+     */
+    public boolean next() throws IOException {
+        return tokenizer.nextRecord() && !tokenizer.isEmptyLine();
+    }
+
+    /**
+     * 当前记录的列数
+     *
+     * @return 列数
+     */
+    public int fieldCount() {
+        return tokenizer.fieldCount();
+    }
+
+    /**
+     * 获取指定列的字符视图，视图对象会被复用，只在调用下一次{@link #next()}之前有效
+     *
+     * @param index 列索引, 从0开始
+     * @return 列内容视图
+     */
+    public CharSequence get(int index) {
+        tokenizer.fieldStart(index);
+        if (index >= views.length) {
+            FieldView[] expanded = new FieldView[Math.max(views.length << 1, index + 1)];
+            System.arraycopy(views, 0, expanded, 0, views.length);
+            views = expanded;
+        }
+        FieldView view = views[index];
+        if (view == null) {
+            view = views[index] = new FieldView(index);
+        }
+        return view;
+    }
+
+    /**
+     * 获取指定列的字符串
+     *
+     * @param index 列索引, 从0开始
+     * @return 列内容
+     */
+    public String getString(int index) {
+        return tokenizer.field(index);
+    }
+
+    /**
+     * 指定列是否为空
+     *
+     * @param index 列索引, 从0开始
+     * @return 列内容为空时返回<code>true</code>
+     */
+    public boolean isEmpty(int index) {
+        return tokenizer.fieldStart(index) == tokenizer.fieldEnd(index);
+    }
+
+    /**
+     * 将指定列原地解析为int
+     *
+     * @param index 列索引, 从0开始
+     * @return 列数值
+     * @throws NumberFormatException 列内容不是合法的int
+     */
+    public int getInt(int index) {
+        long value = getLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberFormatException(index);
+        }
+        return (int) value;
+    }
+
+    /**
+     * 将指定列原地解析为long
+     *
+     * @param index 列索引, 从0开始
+     * @return 列数值
+     * @throws NumberFormatException 列内容不是合法的long
+     */
+    public long getLong(int index) {
+        char[] chars = tokenizer.recordBuffer();
+        int i = tokenizer.fieldStart(index);
+        int end = tokenizer.fieldEnd(index);
+        if (i == end) {
+            throw numberFormatException(index);
+        }
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        char first = chars[i];
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (negative) {
+                limit = Long.MIN_VALUE;
+            }
+            if (++i == end) {
+                throw numberFormatException(index);
+            }
+        }
+        long multiplyMin = limit / 10;
+        //与Long.parseLong一致, 以负数累加以便正确处理Long.MIN_VALUE
+        long result = 0;
+        while (i < end) {
+            int digit = chars[i++] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                throw numberFormatException(index);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(index);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 将指定列解析为double，对于不超过15位有效数字且不带指数的常见十进制数原地解析，
+     * 其余情况回退到{@link Double#parseDouble(String)}，两种方式的结果完全一致
+     *
+     * @param index 列索引, 从0开始
+     * @return 列数值
+     * @throws NumberFormatException 列内容不是合法的double
+     */
+    public double getDouble(int index) {
+        char[] chars = tokenizer.recordBuffer();
+        int start = tokenizer.fieldStart(index);
+        int end = tokenizer.fieldEnd(index);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits > MAX_EXACT_DIGITS) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenPoint) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (i == end && seenDigit && fractionDigits < EXACT_POWERS_OF_TEN.length) {
+            //尾数与10的幂均可被double精确表示, 一次除法即可得到正确舍入的结果
+            double value = mantissa / EXACT_POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(chars, start, end - start));
+    }
+
+    /**
+     * 将指定列原地解析为{@link BigDecimal}
+     *
+     * @param index 列索引, 从0开始
+     * @return 列数值
+     * @throws NumberFormatException 列内容不是合法的十进制数
+     */
+    public BigDecimal getBigDecimal(int index) {
+        int start = tokenizer.fieldStart(index);
+        int end = tokenizer.fieldEnd(index);
+        if (start == end) {
+            throw numberFormatException(index);
+        }
+        return new BigDecimal(tokenizer.recordBuffer(), start, end - start);
+    }
+
+    private NumberFormatException numberFormatException(int index) {
+        return new NumberFormatException("For input string: \"" + tokenizer.field(index) + "\" at column " + index);
+    }
+
+    /**
+     * 记录缓冲区上某一列的只读视图
+     */
+    private class FieldView implements CharSequence {
+
+        /**
+         * 列索引
+         */
+        private final int index;
+
+        private FieldView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int length() {
+            return tokenizer.fieldEnd(index) - tokenizer.fieldStart(index);
+        }
+
+        @Override
+        public char charAt(int offset) {
+            if (offset < 0 || offset >= length()) {
+                throw new StringIndexOutOfBoundsException(offset);
+            }
+            return tokenizer.recordBuffer()[tokenizer.fieldStart(index) + offset];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return tokenizer.field(index);
+        }
+    }
+
+}
@@ -0,0 +1,923 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * csv单遍扫描词法解析器
+ * <p>
+ * 直接从可复用的{@code char[]}窗口中按状态机切分列，列内容写入可复用的记录缓冲区，
+ * 每个字符只会被扫描一次，也不再构建中间的行字符串
+ * </p>
+ * 行结束符支持{@code \n}、{@code \r}和{@code \r\n}，与{@link java.io.BufferedReader#readLine()}保持一致；
+ * 按RFC 4180处理引号列中的换行符，引号状态会跨物理行保持，一条记录可以跨越多个物理行，
+ * 内存占用只取决于最大的单条记录而不是整个文件；
+ * 分隔符、引号、转义符和注释行标记由{@link CSVFormat}指定，构建时读入final字段，热循环中只与局部变量比较；
+ * 通过{@link #setProjection(int...)}和{@link #addPredicate(CSVPredicate)}可以只保留需要的列并在解析时过滤记录，
+ * 未投影的列只扫描不拷贝，被过滤的记录不会交给调用方
+ *
+ * @author Hinsteny
+ * @version CSVTokenizer: CSVTokenizer 2026-10-18 10:12 All rights reserved.$
+ */
+public class CSVTokenizer {
+
+    /**
+     * 默认读取窗口大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final char LF = '\n';
+
+    private static final char CR = '\r';
+
+    /**
+     * 状态: 列开始
+     */
+    private static final int FIELD_START = 0;
+
+    /**
+     * 状态: 非引号列中
+     */
+    private static final int UNQUOTED = 1;
+
+    /**
+     * 状态: 引号列中
+     */
+    private static final int QUOTED = 2;
+
+    /**
+     * 状态: 引号列中遇到引号, 可能是列结束也可能是转义引号
+     */
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    /**
+     * 状态: 非引号列中遇到转义符
+     */
+    private static final int ESCAPE_IN_UNQUOTED = 4;
+
+    /**
+     * 状态: 引号列中遇到转义符
+     */
+    private static final int ESCAPE_IN_QUOTED = 5;
+
+    /**
+     * 字节偏移: 不记录
+     */
+    private static final int OFFSET_NONE = 0;
+
+    /**
+     * 字节偏移: 单字节编码, 每个字符一个字节
+     */
+    private static final int OFFSET_SINGLE_BYTE = 1;
+
+    /**
+     * 字节偏移: UTF-8编码
+     */
+    private static final int OFFSET_UTF8 = 2;
+
+    /**
+     * 列分隔符
+     */
+    private final char delimiter;
+
+    /**
+     * 引号
+     */
+    private final char quote;
+
+    /**
+     * 转义符
+     */
+    private final char escape;
+
+    /**
+     * 是否启用转义符
+     */
+    private final boolean escapeEnabled;
+
+    /**
+     * 注释行标记
+     */
+    private final char commentMarker;
+
+    /**
+     * 是否跳过注释行
+     */
+    private final boolean commentEnabled;
+
+    /**
+     * 字符来源
+     */
+    private Reader reader;
+
+    /**
+     * 读取窗口
+     */
+    private char[] buffer;
+
+    /**
+     * 窗口中下一个待处理字符的位置
+     */
+    private int position;
+
+    /**
+     * 窗口中有效字符的结束位置(不包含)
+     */
+    private int limit;
+
+    /**
+     * 字符来源是否已读完
+     */
+    private boolean eof;
+
+    /**
+     * 上一行是否以{@code \r}结尾, 用于跳过紧随其后的{@code \n}
+     */
+    private boolean skipLF;
+
+    /**
+     * 当前记录中所有列的内容(已去除引号及转义)
+     */
+    private char[] record = new char[256];
+
+    /**
+     * 当前记录内容长度
+     */
+    private int recordLength;
+
+    /**
+     * 每一列在记录缓冲区中的开始位置(包含)
+     */
+    private int[] fieldStarts = new int[16];
+
+    /**
+     * 每一列在记录缓冲区中的结束位置(不包含)
+     */
+    private int[] fieldEnds = new int[16];
+
+    /**
+     * 当前记录的列数
+     */
+    private int fieldCount;
+
+    /**
+     * 当前记录在来源中占用的字符数(不含行结束符)
+     */
+    private int rawLength;
+
+    /**
+     * 单条记录允许的最大字符数, 用于防止未闭合的引号吞掉整个文件
+     */
+    private int maxRecordLength = Integer.MAX_VALUE;
+
+    /**
+     * 投影的原始列索引, 为<code>null</code>时保留所有列
+     */
+    private int[] projection;
+
+    /**
+     * 过滤条件
+     */
+    private CSVPredicate[] predicates = new CSVPredicate[0];
+
+    /**
+     * 原始列索引对应的记录列位置, 为-1时该列只扫描不拷贝; 为<code>null</code>时不做投影
+     */
+    private int[] slots;
+
+    /**
+     * 原始列索引对应的过滤条件
+     */
+    private CSVPredicate[][] predicatesByColumn;
+
+    /**
+     * 投影和过滤条件是否有变化, 需要重新计算{@link #slots}
+     */
+    private boolean planChanged;
+
+    /**
+     * 当前记录中正在解析的原始列索引
+     */
+    private int sourceIndex;
+
+    /**
+     * 当前列的内容是否需要拷贝到记录缓冲区
+     */
+    private boolean capturing = true;
+
+    /**
+     * 当前记录是否已被过滤条件排除
+     */
+    private boolean rejected;
+
+    /**
+     * 字节偏移的计算方式
+     */
+    private int offsetMode = OFFSET_NONE;
+
+    /**
+     * 读取窗口开始位置对应的字节偏移
+     */
+    private long windowByteStart;
+
+    /**
+     * 窗口中已计算过字节数的位置
+     */
+    private int countedPosition;
+
+    /**
+     * {@link #countedPosition}对应的字节偏移
+     */
+    private long countedBytes;
+
+    /**
+     * 当前记录开始位置的字节偏移
+     */
+    private long recordOffset;
+
+    /**
+     * 构建csv词法解析器
+     *
+     * @param reader 字符来源
+     */
+    public CSVTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构建csv词法解析器
+     *
+     * @param reader 字符来源
+     * @param bufferSize 读取窗口大小
+     */
+    public CSVTokenizer(Reader reader, int bufferSize) {
+        this(reader, bufferSize, CSVFormat.DEFAULT);
+    }
+
+    /**
+     * 构建csv词法解析器
+     *
+     * @param reader 字符来源
+     * @param bufferSize 读取窗口大小
+     * @param format csv方言
+     */
+    public CSVTokenizer(Reader reader, int bufferSize, CSVFormat format) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.delimiter = format.getDelimiter();
+        this.quote = format.getQuote();
+        this.escape = format.getEscape();
+        this.escapeEnabled = format.isEscapeEnabled();
+        this.commentMarker = format.getCommentMarker();
+        this.commentEnabled = format.isCommentEnabled();
+    }
+
+    /**
+     * 解析下一条满足过滤条件的记录，空行不参与过滤
+     *
+     * @return 有下一条记录时返回<code>true</code>，没有更多内容时返回<code>false</code>
+     * @throws IOException IO异常
+     */
+    public boolean nextRecord() throws IOException {
+        if (planChanged) {
+            plan();
+        }
+        while (readRecord()) {
+            if (predicatesByColumn != null && !rejected) {
+                //记录中不存在的列按空字符串比较
+                for (int column = sourceIndex; column < predicatesByColumn.length && !rejected; column++) {
+                    rejected = !matches(column, 0, 0);
+                }
+            }
+            if (!rejected || isEmptyLine()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只保留指定的原始列，记录中的列按参数顺序重新排列，原始记录中不存在的列为空字符串；需要在读取前设置
+     *
+     * @param columns 原始列索引(从0开始)，为空时保留所有列
+     */
+    public void setProjection(int... columns) {
+        if (columns == null || columns.length == 0) {
+            this.projection = null;
+        } else {
+            for (int column : columns) {
+                if (column < 0) {
+                    throw new IllegalArgumentException("column can't less than zero");
+                }
+            }
+            this.projection = columns.clone();
+        }
+        this.planChanged = true;
+    }
+
+    /**
+     * 增加过滤条件，多个条件同时满足的记录才会被返回；需要在读取前设置
+     *
+     * @param predicate 过滤条件
+     */
+    public void addPredicate(CSVPredicate predicate) {
+        CSVPredicate[] expanded = new CSVPredicate[predicates.length + 1];
+        System.arraycopy(predicates, 0, expanded, 0, predicates.length);
+        expanded[predicates.length] = predicate;
+        this.predicates = expanded;
+        this.planChanged = true;
+    }
+
+    /**
+     * 解析下一条记录
+     *
+     * @return 有下一条记录时返回<code>true</code>，没有更多内容时返回<code>false</code>
+     * @throws IOException IO异常
+     */
+    private boolean readRecord() throws IOException {
+        recordLength = 0;
+        rawLength = 0;
+        sourceIndex = 0;
+        rejected = false;
+        if (slots == null) {
+            fieldCount = 0;
+            capturing = true;
+        } else {
+            //投影列可能不存在于当前记录中, 预先置为空列
+            fieldCount = projection != null ? projection.length : 0;
+            Arrays.fill(fieldStarts, 0);
+            Arrays.fill(fieldEnds, 0);
+            capturing = slots.length > 0 && slots[0] >= 0;
+        }
+        while (true) {
+            if (skipLF) {
+                if (position >= limit && !fill()) {
+                    return false;
+                }
+                if (buffer[position] == LF) {
+                    position++;
+                }
+                skipLF = false;
+            }
+            if (position >= limit && !fill()) {
+                return false;
+            }
+            if (!commentEnabled || buffer[position] != commentMarker) {
+                break;
+            }
+            skipCommentLine();
+        }
+        if (offsetMode != OFFSET_NONE) {
+            recordOffset = offsetAt(position);
+        }
+
+        final char delimiter = this.delimiter;
+        final char quote = this.quote;
+        final char escape = this.escape;
+        final boolean escapeEnabled = this.escapeEnabled;
+        int state = FIELD_START;
+        int fieldStart = 0;
+        while (true) {
+            if (!capturing && rawLength > maxRecordLength) {
+                throw new IOException("csv record exceeds max length " + maxRecordLength + ", maybe an unclosed quote");
+            }
+            if (position >= limit && !fill()) {
+                //来源结束, 结束最后一列
+                endField(fieldStart);
+                return true;
+            }
+            char[] buf = this.buffer;
+            int pos = this.position;
+            int end = this.limit;
+            int runStart = pos;
+            switch (state) {
+                case FIELD_START: {
+                    char c = buf[pos++];
+                    rawLength++;
+                    position = pos;
+                    if (c == quote) {
+                        state = QUOTED;
+                    } else if (c == delimiter) {
+                        endField(fieldStart);
+                        fieldStart = recordLength;
+                    } else if (escapeEnabled && c == escape) {
+                        state = ESCAPE_IN_UNQUOTED;
+                    } else if (c == LF || c == CR) {
+                        rawLength--;
+                        endField(fieldStart);
+                        skipLF = c == CR;
+                        return true;
+                    } else {
+                        append(c);
+                        state = UNQUOTED;
+                    }
+                    break;
+                }
+                case UNQUOTED: {
+                    //连续的普通字符整段拷贝
+                    char c = 0;
+                    if (escapeEnabled) {
+                        while (pos < end) {
+                            c = buf[pos];
+                            if (c == delimiter || c == LF || c == CR || c == escape) {
+                                break;
+                            }
+                            pos++;
+                        }
+                    } else {
+                        while (pos < end) {
+                            c = buf[pos];
+                            if (c == delimiter || c == LF || c == CR) {
+                                break;
+                            }
+                            pos++;
+                        }
+                    }
+                    append(buf, runStart, pos - runStart);
+                    rawLength += pos - runStart;
+                    if (pos == end) {
+                        position = pos;
+                        break;
+                    }
+                    position = pos + 1;
+                    if (escapeEnabled && c == escape) {
+                        rawLength++;
+                        state = ESCAPE_IN_UNQUOTED;
+                        break;
+                    }
+                    endField(fieldStart);
+                    if (c == delimiter) {
+                        rawLength++;
+                        fieldStart = recordLength;
+                        state = FIELD_START;
+                        break;
+                    }
+                    skipLF = c == CR;
+                    return true;
+                }
+                case QUOTED: {
+                    //引号内除引号和转义符外的字符(包括换行符)整段拷贝
+                    if (escapeEnabled) {
+                        while (pos < end && buf[pos] != quote && buf[pos] != escape) {
+                            pos++;
+                        }
+                    } else {
+                        while (pos < end && buf[pos] != quote) {
+                            pos++;
+                        }
+                    }
+                    append(buf, runStart, pos - runStart);
+                    rawLength += pos - runStart;
+                    if (pos == end) {
+                        position = pos;
+                        break;
+                    }
+                    position = pos + 1;
+                    rawLength++;
+                    state = buf[pos] == quote ? QUOTE_IN_QUOTED : ESCAPE_IN_QUOTED;
+                    break;
+                }
+                case ESCAPE_IN_UNQUOTED:
+                case ESCAPE_IN_QUOTED: {
+                    //转义符后的字符(包括换行符)按普通字符处理
+                    append(buf[pos]);
+                    rawLength++;
+                    position = pos + 1;
+                    state = state == ESCAPE_IN_QUOTED ? QUOTED : UNQUOTED;
+                    break;
+                }
+                default: {
+                    char c = buf[pos++];
+                    rawLength++;
+                    position = pos;
+                    if (c == quote) {
+                        //两个连续引号转义为一个引号
+                        append(c);
+                        state = QUOTED;
+                    } else if (c == delimiter) {
+                        endField(fieldStart);
+                        fieldStart = recordLength;
+                        state = FIELD_START;
+                    } else if (c == LF || c == CR) {
+                        rawLength--;
+                        endField(fieldStart);
+                        skipLF = c == CR;
+                        return true;
+                    } else {
+                        //引号结束后的非分隔字符, 宽松处理为普通字符
+                        append(c);
+                        state = UNQUOTED;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 设置单条记录允许的最大字符数，超出时{@link #nextRecord()}抛出{@link IOException}，
+     * 用于在引号未闭合等格式错误时尽早失败，而不是把剩余文件全部读入内存
+     *
+     * @param maxRecordLength 单条记录最大字符数
+     */
+    public void setMaxRecordLength(int maxRecordLength) {
+        if (maxRecordLength <= 0) {
+            throw new IllegalArgumentException("maxRecordLength must be positive");
+        }
+        this.maxRecordLength = maxRecordLength;
+        if (record.length > maxRecordLength) {
+            char[] shrunk = new char[maxRecordLength];
+            System.arraycopy(record, 0, shrunk, 0, Math.min(recordLength, maxRecordLength));
+            record = shrunk;
+        }
+    }
+
+    /**
+     * 当前记录的列数
+     *
+     * @return 列数
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 获取当前记录指定列的内容
+     *
+     * @param index 列索引, 从0开始
+     * @return 列内容
+     */
+    public String field(int index) {
+        checkIndex(index);
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * 获取当前记录的所有列
+     *
+     * @return 列内容数组
+     */
+    public String[] fields() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = new String(record, fieldStarts[i], fieldEnds[i] - fieldStarts[i]);
+        }
+        return fields;
+    }
+
+    /**
+     * 当前记录的内容缓冲区, 缓冲区扩容后会被替换, 因此不能长期持有
+     *
+     * @return 记录缓冲区
+     */
+    char[] recordBuffer() {
+        return record;
+    }
+
+    /**
+     * 指定列在记录缓冲区中的开始位置(包含)
+     *
+     * @param index 列索引
+     * @return 开始位置
+     */
+    int fieldStart(int index) {
+        checkIndex(index);
+        return fieldStarts[index];
+    }
+
+    /**
+     * 指定列在记录缓冲区中的结束位置(不包含)
+     *
+     * @param index 列索引
+     * @return 结束位置
+     */
+    int fieldEnd(int index) {
+        checkIndex(index);
+        return fieldEnds[index];
+    }
+
+    /**
+     * 开启字节偏移记录，只支持UTF-8和单字节编码，偏移按解码后的字符重新编码计算，
+     * 因此来源中不能包含无法解码的字节
+     *
+     * @param charset 来源编码
+     * @param startOffset 来源开始位置的字节偏移
+     */
+    void trackOffsets(Charset charset, long startOffset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            offsetMode = OFFSET_UTF8;
+        } else if (charset.newEncoder().maxBytesPerChar() == 1.0f) {
+            offsetMode = OFFSET_SINGLE_BYTE;
+        } else {
+            throw new IllegalArgumentException("byte offsets are only supported for UTF-8 and single byte charsets, but got " + charset);
+        }
+        windowByteStart = countedBytes = startOffset;
+        countedPosition = position;
+    }
+
+    /**
+     * 当前记录开始位置的字节偏移
+     *
+     * @return 字节偏移
+     */
+    long recordOffset() {
+        checkOffsetTracked();
+        return recordOffset;
+    }
+
+    /**
+     * 当前记录结束位置(包含行结束符)的字节偏移，也就是下一条记录的开始位置
+     *
+     * @return 字节偏移
+     * @throws IOException IO异常
+     */
+    long recordEndOffset() throws IOException {
+        checkOffsetTracked();
+        if (skipLF) {
+            //以\r结尾时把紧随其后的\n也算作当前记录
+            if (position < limit || fill()) {
+                if (buffer[position] == LF) {
+                    position++;
+                }
+                skipLF = false;
+            }
+        }
+        return offsetAt(position);
+    }
+
+    /**
+     * 切换到新的字符来源并清空解析状态，用于在来源中重新定位
+     *
+     * @param reader 新的字符来源
+     * @param startOffset 新来源开始位置的字节偏移
+     */
+    void reset(Reader reader, long startOffset) {
+        this.reader = reader;
+        this.position = this.limit = 0;
+        this.eof = false;
+        this.skipLF = false;
+        this.fieldCount = 0;
+        this.recordLength = 0;
+        this.rawLength = 0;
+        this.windowByteStart = this.countedBytes = this.recordOffset = startOffset;
+        this.countedPosition = 0;
+    }
+
+    /**
+     * 当前记录是否为空行
+     *
+     * @return 空行时返回<code>true</code>
+     */
+    public boolean isEmptyLine() {
+        return rawLength == 0;
+    }
+
+    /**
+     * 关闭字符来源
+     *
+     * @throws IOException IO异常
+     */
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * 跳过当前的注释行(包含行结束符)
+     *
+     * @throws IOException IO异常
+     */
+    private void skipCommentLine() throws IOException {
+        while (position < limit || fill()) {
+            char[] buf = this.buffer;
+            int end = this.limit;
+            for (int pos = this.position; pos < end; pos++) {
+                char c = buf[pos];
+                if (c == LF || c == CR) {
+                    position = pos + 1;
+                    skipLF = c == CR;
+                    return;
+                }
+            }
+            position = end;
+        }
+    }
+
+    /**
+     * 从来源中读取字符填充窗口
+     *
+     * @return 读取到字符时返回<code>true</code>
+     * @throws IOException IO异常
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (offsetMode != OFFSET_NONE) {
+            //丢弃当前窗口前记下窗口结束位置的字节偏移
+            windowByteStart = offsetAt(limit);
+            countedPosition = 0;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * 计算窗口中指定位置的字节偏移, 位置只会单调增加, 因此每个字符只计算一次
+     */
+    private long offsetAt(int target) {
+        if (target < countedPosition) {
+            countedPosition = 0;
+            countedBytes = windowByteStart;
+        }
+        long bytes = countedBytes;
+        if (offsetMode == OFFSET_SINGLE_BYTE) {
+            bytes += target - countedPosition;
+        } else {
+            char[] buf = this.buffer;
+            for (int i = countedPosition; i < target; i++) {
+                char c = buf[i];
+                if (c < 0x80) {
+                    bytes++;
+                } else if (c < 0x800 || Character.isSurrogate(c)) {
+                    //代理对中的每个字符各占两个字节, 合计四个字节
+                    bytes += 2;
+                } else {
+                    bytes += 3;
+                }
+            }
+        }
+        countedPosition = target;
+        countedBytes = bytes;
+        return bytes;
+    }
+
+    private void checkOffsetTracked() {
+        if (offsetMode == OFFSET_NONE) {
+            throw new IllegalStateException("byte offsets are not tracked, open the reader with CSVReader.open(Path, Charset, CSVFormat)");
+        }
+    }
+
+    private void endField(int fieldStart) {
+        if (slots != null) {
+            endProjectedField(fieldStart);
+            return;
+        }
+        if (predicatesByColumn != null && !rejected) {
+            //被排除的记录剩余的列不再拷贝
+            rejected = !matches(sourceIndex, fieldStart, recordLength);
+            capturing = !rejected;
+        }
+        sourceIndex++;
+        if (fieldCount == fieldStarts.length) {
+            int[] starts = new int[fieldCount << 1];
+            int[] ends = new int[fieldCount << 1];
+            System.arraycopy(fieldStarts, 0, starts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, ends, 0, fieldCount);
+            fieldStarts = starts;
+            fieldEnds = ends;
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    /**
+     * 按投影结束一列
+     */
+    private void endProjectedField(int fieldStart) {
+        int column = sourceIndex++;
+        if (capturing) {
+            int slot = slots[column];
+            fieldStarts[slot] = fieldStart;
+            fieldEnds[slot] = recordLength;
+            rejected = !matches(column, fieldStart, recordLength);
+        }
+        capturing = !rejected && sourceIndex < slots.length && slots[sourceIndex] >= 0;
+    }
+
+    /**
+     * 判断指定原始列是否满足所有过滤条件
+     */
+    private boolean matches(int column, int start, int end) {
+        if (predicatesByColumn == null || column >= predicatesByColumn.length || predicatesByColumn[column] == null) {
+            return true;
+        }
+        for (CSVPredicate predicate : predicatesByColumn[column]) {
+            if (!predicate.test(record, start, end)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 根据投影和过滤条件计算每个原始列的处理方式
+     */
+    private void plan() {
+        planChanged = false;
+        predicatesByColumn = null;
+        if (predicates.length > 0) {
+            int maxColumn = 0;
+            for (CSVPredicate predicate : predicates) {
+                maxColumn = Math.max(maxColumn, predicate.getColumn());
+            }
+            predicatesByColumn = new CSVPredicate[maxColumn + 1][];
+            for (CSVPredicate predicate : predicates) {
+                CSVPredicate[] existing = predicatesByColumn[predicate.getColumn()];
+                CSVPredicate[] expanded = new CSVPredicate[existing == null ? 1 : existing.length + 1];
+                if (existing != null) {
+                    System.arraycopy(existing, 0, expanded, 0, existing.length);
+                }
+                expanded[expanded.length - 1] = predicate;
+                predicatesByColumn[predicate.getColumn()] = expanded;
+            }
+        }
+        if (projection == null) {
+            slots = null;
+            capturing = true;
+            return;
+        }
+        //投影列按顺序占用前面的位置, 只用于过滤的列排在后面
+        int maxColumn = predicatesByColumn == null ? 0 : predicatesByColumn.length - 1;
+        for (int column : projection) {
+            maxColumn = Math.max(maxColumn, column);
+        }
+        int[] mapping = new int[maxColumn + 1];
+        Arrays.fill(mapping, -1);
+        int slotCount = 0;
+        for (int column : projection) {
+            if (mapping[column] >= 0) {
+                throw new IllegalArgumentException("duplicate projection column " + column);
+            }
+            mapping[column] = slotCount++;
+        }
+        if (predicatesByColumn != null) {
+            for (int column = 0; column < predicatesByColumn.length; column++) {
+                if (predicatesByColumn[column] != null && mapping[column] < 0) {
+                    mapping[column] = slotCount++;
+                }
+            }
+        }
+        slots = mapping;
+        if (fieldStarts.length < slotCount) {
+            fieldStarts = new int[slotCount];
+            fieldEnds = new int[slotCount];
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (!capturing) {
+            return;
+        }
+        if (recordLength == record.length) {
+            grow(recordLength + 1);
+        }
+        record[recordLength++] = c;
+    }
+
+    private void append(char[] src, int offset, int length) throws IOException {
+        if (length == 0 || !capturing) {
+            return;
+        }
+        if (recordLength + length > record.length) {
+            grow(recordLength + length);
+        }
+        System.arraycopy(src, offset, record, recordLength, length);
+        recordLength += length;
+    }
+
+    private void grow(int minCapacity) throws IOException {
+        if (minCapacity > maxRecordLength) {
+            throw new IOException("csv record exceeds max length " + maxRecordLength + ", maybe an unclosed quote");
+        }
+        int capacity = (int) Math.min(Math.max((long) record.length << 1, minCapacity), maxRecordLength);
+        char[] expanded = new char[capacity];
+        System.arraycopy(record, 0, expanded, 0, recordLength);
+        record = expanded;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("field index " + index + " out of bounds for length " + fieldCount);
+        }
+    }
+
+}
@@ -1,13 +1,24 @@
 package com.github.hinsteny.commons.core.io.csv;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.nio.charset.Charset;
 
 /**
  * CSV文件写入工具类
+ * <p>
+ * 所有内容先转义写入可复用的字符缓冲区，按批次(行数)整体写出到底层流；
+ * 除了整行写入{@link #write(WritableCSVLine)}外，还可以通过{@link #writeField(CharSequence)}、{@link #writeLong(long)}、
+ * {@link #writeDouble(double)}、{@link #writeDecimal(BigDecimal)}逐列写入，再调用{@link #endLine()}结束一行，
+ * 逐列写入时不会为每一行构建字符串，也不会把基本类型装箱；
+ * 分隔符、引号、转义符和行分隔符由{@link CSVFormat}指定
+ * </p>
+ * <pre>
+ *     writer.writeLong(id).writeField(name).writeDecimal(amount).endLine();
+ * </pre>
  *
  * @author Hinsteny
  * @version CSVWriter: CSVWriter 2019-05-10 09:54 All rights reserved.$
@@ -15,9 +26,64 @@ import java.nio.charset.Charset;
 public class CSVWriter {
 
     /**
-     * 缓冲流读取
+     * 默认每批写出的行数
      */
-    private BufferedWriter writer;
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * 缓冲区超过该字符数时不等待批次结束直接写出, 避免超长行占用过多内存
+     */
+    private static final int MAX_BUFFERED_CHARS = 1024 * 1024;
+
+    /**
+     * 底层字符输出流
+     */
+    private Writer writer;
+
+    /**
+     * csv方言
+     */
+    private final CSVFormat format;
+
+    /**
+     * 列分隔符
+     */
+    private final char delimiter;
+
+    /**
+     * 行分隔符
+     */
+    private final String recordSeparator;
+
+    /**
+     * 待写出内容的缓冲区
+     */
+    private final StringBuilder buffer = new StringBuilder(8 * 1024);
+
+    /**
+     * 写出时复用的字符数组
+     */
+    private char[] drainChars = new char[0];
+
+    /**
+     * 每批写出的行数
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * 缓冲区中已完成的行数
+     */
+    private int pendingLines;
+
+    /**
+     * 当前行是否已写入过列, 用于判断是否需要先写入列分隔符
+     */
+    private boolean lineStarted;
+
+    /**
+     * 当前行是否已由{@link #write(WritableCSVLine)}计入批次, 避免随后的{@link #endLine()}重复计数
+     */
+    private boolean lineCounted;
 
     /**
      * 构建csv writer
@@ -26,16 +92,116 @@ public class CSVWriter {
      * @param charset 编码
      */
     public CSVWriter(OutputStream stream, Charset charset) {
-        this.writer = new BufferedWriter(new OutputStreamWriter(stream, charset));
+        this(stream, charset, CSVFormat.DEFAULT);
     }
 
     /**
-     * 写入CSV行
+     * 按指定方言构建csv writer
+     *
+     * @param stream csv文件输出流
+     * @param charset 编码
+     * @param format csv方言
+     */
+    public CSVWriter(OutputStream stream, Charset charset, CSVFormat format) {
+        this.writer = new OutputStreamWriter(stream, charset);
+        this.format = format;
+        this.delimiter = format.getDelimiter();
+        this.recordSeparator = format.getRecordSeparator();
+    }
+
+    /**
+     * 设置每批写出的行数，缓冲区累计到该行数后整体写出到底层流
+     *
+     * @param batchSize 每批行数
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 写入CSV行，行内容按{@link WritableCSVLine}自身的方言转义，每次写入计为一行，累计行数达到批次大小时写出到底层流
      * @param csvLine 行内容
      * @throws IOException IO异常
      */
     public void write(WritableCSVLine csvLine) throws IOException {
-        this.writer.write(csvLine.getFormattedTokensStr());
+        csvLine.appendFormattedTokensTo(this.buffer);
+        this.lineCounted = true;
+        countLine();
+    }
+
+    /**
+     * 写入一列文本，包含分隔符、引号或换行符时按方言加引号转义
+     *
+     * @param value 列内容，<code>null</code>写为空列
+     * @return 当前writer
+     * @throws IOException IO异常
+     */
+    public CSVWriter writeField(CharSequence value) throws IOException {
+        startField();
+        if (value != null) {
+            appendEscaped(this.buffer, value, this.format);
+        }
+        return this;
+    }
+
+    /**
+     * 写入一列整数
+     *
+     * @param value 列内容
+     * @return 当前writer
+     * @throws IOException IO异常
+     */
+    public CSVWriter writeLong(long value) throws IOException {
+        startField();
+        this.buffer.append(value);
+        return this;
+    }
+
+    /**
+     * 写入一列浮点数，格式与{@link Double#toString(double)}一致
+     *
+     * @param value 列内容
+     * @return 当前writer
+     * @throws IOException IO异常
+     */
+    public CSVWriter writeDouble(double value) throws IOException {
+        startField();
+        this.buffer.append(value);
+        return this;
+    }
+
+    /**
+     * 写入一列十进制数，使用不带指数的格式
+     *
+     * @param value 列内容，<code>null</code>写为空列
+     * @return 当前writer
+     * @throws IOException IO异常
+     */
+    public CSVWriter writeDecimal(BigDecimal value) throws IOException {
+        startField();
+        if (value != null) {
+            this.buffer.append(value.toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * 结束当前行，累计行数达到批次大小时写出到底层流
+     *
+     * @throws IOException IO异常
+     */
+    public void endLine() throws IOException {
+        this.buffer.append(this.recordSeparator);
+        this.lineStarted = false;
+        if (this.lineCounted) {
+            this.lineCounted = false;
+            drainIfNecessary();
+        } else {
+            countLine();
+        }
     }
 
     /**
@@ -43,6 +209,7 @@ public class CSVWriter {
      * @throws IOException IO异常
      */
     public void flush() throws IOException {
+        drain();
         this.writer.flush();
     }
 
@@ -51,7 +218,85 @@ public class CSVWriter {
      * @throws IOException IO异常
      */
     public void close() throws IOException {
-        this.writer.close();
+        try {
+            drain();
+        } finally {
+            this.writer.close();
+        }
+    }
+
+    /**
+     * 按方言转义列内容并追加到目标缓冲区，包含分隔符、引号、转义符或换行符，或者以注释行标记开头时整体加引号，
+     * 内部的引号和转义符前加上转义符，未设置转义符时按RFC 4180把引号双写
+     *
+     * @param out 目标缓冲区
+     * @param value 列内容
+     * @param format csv方言
+     */
+    static void appendEscaped(StringBuilder out, CharSequence value, CSVFormat format) {
+        final char delimiter = format.getDelimiter();
+        final char quote = format.getQuote();
+        final boolean escapeEnabled = format.isEscapeEnabled();
+        final char escape = escapeEnabled ? format.getEscape() : quote;
+        int length = value.length();
+        boolean needQuote = length > 0 && format.isCommentEnabled() && value.charAt(0) == format.getCommentMarker();
+        for (int i = 0; i < length && !needQuote; i++) {
+            char c = value.charAt(i);
+            needQuote = c == delimiter || c == quote || c == escape || c == '\n' || c == '\r';
+        }
+        if (!needQuote) {
+            out.append(value);
+            return;
+        }
+        out.append(quote);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == quote || c == escape) {
+                out.append(escape);
+            }
+            out.append(c);
+        }
+        out.append(quote);
+    }
+
+    private void startField() throws IOException {
+        if (this.lineStarted) {
+            this.buffer.append(this.delimiter);
+        } else {
+            this.lineStarted = true;
+        }
+    }
+
+    private void countLine() throws IOException {
+        if (++this.pendingLines >= this.batchSize) {
+            drain();
+        } else {
+            drainIfNecessary();
+        }
+    }
+
+    private void drainIfNecessary() throws IOException {
+        if (this.buffer.length() >= MAX_BUFFERED_CHARS) {
+            drain();
+        }
+    }
+
+    /**
+     * 把缓冲区内容写出到底层流
+     *
+     * @throws IOException IO异常
+     */
+    private void drain() throws IOException {
+        int length = this.buffer.length();
+        if (length > 0) {
+            if (this.drainChars.length < length) {
+                this.drainChars = new char[Math.max(length, this.drainChars.length << 1)];
+            }
+            this.buffer.getChars(0, length, this.drainChars, 0);
+            this.writer.write(this.drainChars, 0, length);
+            this.buffer.setLength(0);
+        }
+        this.pendingLines = 0;
     }
 
 }
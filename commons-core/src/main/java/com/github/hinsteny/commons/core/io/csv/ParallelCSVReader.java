@@ -0,0 +1,509 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 基于内存映射的并行csv读取工具类
+ * <p>
+ * 先按与{@link CSVTokenizer}相同的规则并发扫描文件字节(只跟踪引号、转义符和注释行状态，不做解码和切分)，
+ * 在记录结束的换行符处把文件切分为若干块，再把每一块通过{@link FileChannel#map}映射到内存，在{@link ForkJoinPool}上并发解码和切分
+ * </p>
+ * 使用限制:
+ * <ul>
+ * <li>编码必须兼容ASCII，即换行符、引号和分隔符都以单字节表示且不会出现在多字节字符中，如UTF-8、GBK、ISO-8859-1</li>
+ * <li>{@link CSVFormat}中的分隔符、引号、转义符和注释行标记必须是ASCII字符</li>
+ * <li>与{@link CSVReader#nextCSVLine()}不同，空行会被跳过而不是作为结束标志</li>
+ * </ul>
+ *
+ * @author Hinsteny
+ * @version ParallelCSVReader: ParallelCSVReader 2026-10-18 11:40 All rights reserved.$
+ */
+public class ParallelCSVReader {
+
+    /**
+     * 默认分块大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * 扫描分块边界时每次拷贝的字节数
+     */
+    private static final int SCAN_BLOCK_SIZE = 64 * 1024;
+
+    private static final byte LF = '\n';
+
+    private static final byte CR = '\r';
+
+    /**
+     * 扫描状态, 与{@link CSVTokenizer}的解析状态一一对应, 另外区分记录开始(可能是注释行)和注释行
+     */
+    private static final int RECORD_START = 0;
+
+    private static final int FIELD_START = 1;
+
+    private static final int UNQUOTED = 2;
+
+    private static final int QUOTED = 3;
+
+    private static final int QUOTE_IN_QUOTED = 4;
+
+    private static final int ESCAPE_IN_UNQUOTED = 5;
+
+    private static final int ESCAPE_IN_QUOTED = 6;
+
+    private static final int COMMENT = 7;
+
+    private static final int STATE_COUNT = 8;
+
+    private static final int ASCII_LIMIT = 0x80;
+
+    /**
+     * 文件通道
+     */
+    private final FileChannel channel;
+
+    /**
+     * 编码
+     */
+    private final Charset charset;
+
+    /**
+     * csv方言
+     */
+    private final CSVFormat format;
+
+    /**
+     * 分块大小
+     */
+    private final int chunkSize;
+
+    /**
+     * 分块起始位置, 最后一个元素为文件大小
+     */
+    private long[] boundaries;
+
+    /**
+     * 扫描状态转移表, 下标为(状态 &lt;&lt; 8 | 字节)
+     */
+    private final int[] transitions;
+
+    /**
+     * 构建并行csv reader
+     *
+     * @param path csv文件路径
+     * @param charset 编码
+     * @throws IOException IO异常
+     */
+    public ParallelCSVReader(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 构建并行csv reader
+     *
+     * @param path csv文件路径
+     * @param charset 编码, 必须兼容ASCII
+     * @param chunkSize 分块大小(字节)
+     * @throws IOException IO异常
+     */
+    public ParallelCSVReader(Path path, Charset charset, int chunkSize) throws IOException {
+        this(path, charset, CSVFormat.DEFAULT, chunkSize);
+    }
+
+    /**
+     * 按指定方言构建并行csv reader
+     *
+     * @param path csv文件路径
+     * @param charset 编码, 必须兼容ASCII
+     * @param format csv方言, 分隔符、引号、转义符和注释行标记必须是ASCII字符
+     * @param chunkSize 分块大小(字节)
+     * @throws IOException IO异常
+     */
+    public ParallelCSVReader(Path path, Charset charset, CSVFormat format, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (format.getDelimiter() >= ASCII_LIMIT || format.getQuote() >= ASCII_LIMIT
+            || (format.isEscapeEnabled() && format.getEscape() >= ASCII_LIMIT)
+            || (format.isCommentEnabled() && format.getCommentMarker() >= ASCII_LIMIT)) {
+            throw new IllegalArgumentException("parallel csv read only supports ascii control chars, but got " + format);
+        }
+        String controls = "\n" + format.getQuote() + format.getDelimiter();
+        if (!Arrays.equals(controls.getBytes(charset), new byte[]{LF, (byte) format.getQuote(), (byte) format.getDelimiter()})) {
+            throw new IllegalArgumentException("charset " + charset + " is not ascii compatible");
+        }
+        this.charset = charset;
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.transitions = transitions(format);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * 返回所有csv行组成的并行流，流保持文件中的顺序，不关心顺序时可以调用{@link Stream#unordered()}，
+     * 流的终止操作在哪个{@link ForkJoinPool}中执行，分块就在哪个pool中并行解析，默认为{@link ForkJoinPool#commonPool()}
+     *
+     * @return csv行的并行流，读取出错时抛出{@link UncheckedIOException}
+     * @throws IOException IO异常
+     */
+    public Stream<ReadableCSVLine> lines() throws IOException {
+        long[] chunks = split();
+        List<Integer> indexes = new ArrayList<>(chunks.length - 1);
+        for (int i = 0; i < chunks.length - 1; i++) {
+            indexes.add(i);
+        }
+        return indexes.parallelStream().flatMap(i -> parse(chunks[i], chunks[i + 1]));
+    }
+
+    /**
+     * 在公共{@link ForkJoinPool}上并行解析，并把每一个csv行交给消费者处理
+     *
+     * @param consumer csv行消费者，无序模式下会被多个线程并发调用
+     * @param ordered 是否按文件中的顺序回调
+     * @throws IOException IO异常
+     */
+    public void forEach(Consumer<ReadableCSVLine> consumer, boolean ordered) throws IOException {
+        forEach(consumer, ordered, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的{@link ForkJoinPool}上并行解析，并把每一个csv行交给消费者处理
+     * 有序模式下先解析完成的分块需要等待前面的分块，会暂存在内存中
+     *
+     * @param consumer csv行消费者，无序模式下会被多个线程并发调用
+     * @param ordered 是否按文件中的顺序回调
+     * @param pool 执行解析的线程池
+     * @throws IOException IO异常
+     */
+    public void forEach(Consumer<ReadableCSVLine> consumer, boolean ordered, ForkJoinPool pool) throws IOException {
+        Stream<ReadableCSVLine> lines = lines();
+        try {
+            pool.submit(() -> {
+                if (ordered) {
+                    lines.forEachOrdered(consumer);
+                } else {
+                    lines.forEach(consumer);
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("parallel csv read interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("parallel csv read failed", e.getCause());
+        }
+    }
+
+    /**
+     * 关闭csv资源
+     *
+     * @throws IOException IO异常
+     */
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * 在记录结束的换行符处切分文件.
+     * <p>
+     * 文件按分块大小划分为若干区域并发扫描, 每个区域的起始状态未知, 因此从所有状态同时开始扫描,
+     * 记录每个起始状态对应的结束状态和第一个记录边界(不同起始状态通常在第一个换行符后就合并为同一状态);
+     * 最后从文件开头依次串联各区域, 确定每个区域的实际起始状态和分块边界
+     * </p>
+     *
+     * @return 分块边界
+     * @throws IOException IO异常
+     */
+    private synchronized long[] split() throws IOException {
+        if (boundaries != null) {
+            return boundaries;
+        }
+        long size = channel.size();
+        int regions = (int) ((size + chunkSize - 1) / chunkSize);
+        RegionScan[] scans;
+        try {
+            scans = IntStream.range(0, regions).parallel().mapToObj(i -> {
+                long start = (long) i * chunkSize;
+                try {
+                    return scan(start, Math.min(size, start + chunkSize));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toArray(RegionScan[]::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long[] found = new long[regions + 2];
+        int count = 1;
+        int state = RECORD_START;
+        for (RegionScan scan : scans) {
+            long boundary = scan.firstBoundaries[state];
+            if (boundary > found[count - 1] && boundary < size) {
+                found[count++] = boundary;
+            }
+            state = scan.endStates[state];
+        }
+        if (found[count - 1] != size) {
+            found[count++] = size;
+        }
+        for (int i = 1; i < count; i++) {
+            if (found[i] - found[i - 1] > Integer.MAX_VALUE) {
+                throw new IOException("csv chunk starting at " + found[i - 1] + " is too large to map");
+            }
+        }
+        return boundaries = Arrays.copyOf(found, count);
+    }
+
+    /**
+     * 从所有可能的起始状态扫描一个区域
+     *
+     * @param start 区域开始位置(包含)
+     * @param end 区域结束位置(不包含)
+     * @return 扫描结果
+     * @throws IOException IO异常
+     */
+    private RegionScan scan(long start, long end) throws IOException {
+        final int[] transitions = this.transitions;
+        RegionScan scan = new RegionScan();
+        int[] states = scan.endStates;
+        long[] firstBoundaries = scan.firstBoundaries;
+        int pending = STATE_COUNT;
+        boolean converged = false;
+        int state = 0;
+        MappedByteBuffer region = channel.map(MapMode.READ_ONLY, start, end - start);
+        byte[] block = new byte[(int) Math.min(SCAN_BLOCK_SIZE, end - start)];
+        long offset = start;
+        while (region.hasRemaining()) {
+            int length = Math.min(block.length, region.remaining());
+            region.get(block, 0, length);
+            int i = 0;
+            //各起始状态还没有合并时逐个状态转移
+            for (; i < length && !converged; i++) {
+                int b = block[i] & 0xFF;
+                converged = true;
+                for (int s = 0; s < STATE_COUNT; s++) {
+                    int next = transitions[states[s] << 8 | b];
+                    if (b == LF && next == RECORD_START && firstBoundaries[s] < 0) {
+                        firstBoundaries[s] = offset + i + 1;
+                        pending--;
+                    }
+                    states[s] = next;
+                    converged &= next == states[0];
+                }
+                state = states[0];
+            }
+            //合并后只需要跟踪一个状态
+            for (; i < length; i++) {
+                int b = block[i] & 0xFF;
+                state = transitions[state << 8 | b];
+                if (pending > 0 && b == LF && state == RECORD_START) {
+                    for (int s = 0; s < STATE_COUNT; s++) {
+                        if (firstBoundaries[s] < 0) {
+                            firstBoundaries[s] = offset + i + 1;
+                        }
+                    }
+                    pending = 0;
+                }
+            }
+            offset += length;
+        }
+        if (converged) {
+            Arrays.fill(states, state);
+        }
+        return scan;
+    }
+
+    /**
+     * 按{@link CSVTokenizer}的规则构建状态转移表: 只有列开头的引号开始引号列, 列中间的引号按普通字符处理
+     *
+     * @param format csv方言
+     * @return 转移表
+     */
+    private static int[] transitions(CSVFormat format) {
+        final int quote = format.getQuote();
+        final int delimiter = format.getDelimiter();
+        final int escape = format.isEscapeEnabled() ? format.getEscape() : -1;
+        final int commentMarker = format.isCommentEnabled() ? format.getCommentMarker() : -1;
+        int[] table = new int[STATE_COUNT << 8];
+        for (int b = 0; b < 256; b++) {
+            boolean lineEnd = b == LF || b == CR;
+            int fieldStart;
+            if (b == quote) {
+                fieldStart = QUOTED;
+            } else if (b == delimiter) {
+                fieldStart = FIELD_START;
+            } else if (b == escape) {
+                fieldStart = ESCAPE_IN_UNQUOTED;
+            } else {
+                fieldStart = lineEnd ? RECORD_START : UNQUOTED;
+            }
+            table[RECORD_START << 8 | b] = b == commentMarker ? COMMENT : fieldStart;
+            table[FIELD_START << 8 | b] = fieldStart;
+            if (b == escape) {
+                table[UNQUOTED << 8 | b] = ESCAPE_IN_UNQUOTED;
+            } else if (b == delimiter) {
+                table[UNQUOTED << 8 | b] = FIELD_START;
+            } else {
+                table[UNQUOTED << 8 | b] = lineEnd ? RECORD_START : UNQUOTED;
+            }
+            if (b == quote) {
+                table[QUOTED << 8 | b] = QUOTE_IN_QUOTED;
+            } else {
+                table[QUOTED << 8 | b] = b == escape ? ESCAPE_IN_QUOTED : QUOTED;
+            }
+            if (b == quote) {
+                table[QUOTE_IN_QUOTED << 8 | b] = QUOTED;
+            } else if (b == delimiter) {
+                table[QUOTE_IN_QUOTED << 8 | b] = FIELD_START;
+            } else {
+                table[QUOTE_IN_QUOTED << 8 | b] = lineEnd ? RECORD_START : UNQUOTED;
+            }
+            table[ESCAPE_IN_UNQUOTED << 8 | b] = UNQUOTED;
+            table[ESCAPE_IN_QUOTED << 8 | b] = QUOTED;
+            table[COMMENT << 8 | b] = lineEnd ? RECORD_START : COMMENT;
+        }
+        return table;
+    }
+
+    /**
+     * 解析一个分块
+     *
+     * @param start 分块开始位置(包含)
+     * @param end 分块结束位置(不包含)
+     * @return 分块中的csv行
+     */
+    private Stream<ReadableCSVLine> parse(long start, long end) {
+        CSVTokenizer tokenizer;
+        try {
+            MappedByteBuffer chunk = channel.map(MapMode.READ_ONLY, start, end - start);
+            tokenizer = new CSVTokenizer(new ByteBufferReader(chunk, charset), CSVTokenizer.DEFAULT_BUFFER_SIZE, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Iterator<ReadableCSVLine> iterator = new Iterator<>() {
+
+            private ReadableCSVLine next;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) {
+                    return true;
+                }
+                try {
+                    while (tokenizer.nextRecord()) {
+                        if (!tokenizer.isEmptyLine()) {
+                            next = new ReadableCSVLine(tokenizer.fields());
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public ReadableCSVLine next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ReadableCSVLine line = next;
+                next = null;
+                return line;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 一个区域的扫描结果, 下标为区域的起始状态
+     */
+    private static class RegionScan {
+
+        /**
+         * 区域结束时的状态
+         */
+        private final int[] endStates = new int[STATE_COUNT];
+
+        /**
+         * 区域内第一个记录边界(记录结束的换行符之后的位置), 没有时为-1
+         */
+        private final long[] firstBoundaries = new long[STATE_COUNT];
+
+        private RegionScan() {
+            for (int s = 0; s < STATE_COUNT; s++) {
+                endStates[s] = s;
+                firstBoundaries[s] = -1;
+            }
+        }
+    }
+
+    /**
+     * 从内存映射的字节缓冲区中增量解码字符
+     */
+    private static class ByteBufferReader extends Reader {
+
+        private final ByteBuffer source;
+
+        private final CharsetDecoder decoder;
+
+        private boolean flushed;
+
+        private ByteBufferReader(ByteBuffer source, Charset charset) {
+            this.source = source;
+            this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+            decoder.decode(source, out, true);
+            if (out.position() == off && !flushed) {
+                decoder.flush(out);
+                flushed = true;
+            }
+            int read = out.position() - off;
+            return read == 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.github.hinsteny.commons.core.io.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 预读输入流
+ * <p>
+ * 由一个后台守护线程从来源流(通常是解压流)中读取数据写入可复用的字节数组，通过有界队列交给读取方，
+ * 使解压和解析可以在两个线程上同时进行；队列满时后台线程阻塞等待，内存占用固定为(队列长度 + 2) * 块大小，
+ * 只允许一个线程读取
+ * </p>
+ *
+ * @author Hinsteny
+ * @version PrefetchInputStream: PrefetchInputStream 2026-10-18 15:05 All rights reserved.$
+ */
+class PrefetchInputStream extends InputStream {
+
+    /**
+     * 默认块大小
+     */
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 默认队列长度
+     */
+    static final int DEFAULT_QUEUE_DEPTH = 4;
+
+    /**
+     * 关闭时等待后台线程退出的最长时间(毫秒)
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * 来源结束标记
+     */
+    private static final Chunk END = new Chunk(new byte[0], 0, null);
+
+    /**
+     * 已填充数据的块
+     */
+    private final BlockingQueue<Chunk> filled;
+
+    /**
+     * 可复用的空闲字节数组
+     */
+    private final BlockingQueue<byte[]> free;
+
+    /**
+     * 来源流
+     */
+    private final InputStream source;
+
+    /**
+     * 来源流是否已关闭, 保证只关闭一次
+     */
+    private final AtomicBoolean sourceClosed = new AtomicBoolean();
+
+    /**
+     * 后台读取线程
+     */
+    private final Thread producer;
+
+    /**
+     * 当前正在读取的块
+     */
+    private Chunk current;
+
+    /**
+     * 当前块中下一个待读取的位置
+     */
+    private int position;
+
+    private volatile boolean closed;
+
+    /**
+     * 构建预读输入流并启动后台读取线程
+     *
+     * @param source 来源流, 读取结束或本流关闭时关闭
+     * @param chunkSize 块大小
+     * @param queueDepth 队列长度
+     */
+    PrefetchInputStream(InputStream source, int chunkSize, int queueDepth) {
+        if (chunkSize <= 0 || queueDepth <= 0) {
+            throw new IllegalArgumentException("chunkSize and queueDepth must be positive");
+        }
+        this.filled = new ArrayBlockingQueue<>(queueDepth + 2);
+        this.free = new ArrayBlockingQueue<>(queueDepth + 2);
+        for (int i = 0; i < queueDepth + 2; i++) {
+            this.free.add(new byte[chunkSize]);
+        }
+        this.source = source;
+        this.producer = new Thread(this::produce, "csv-prefetch-" + THREAD_INDEX.incrementAndGet());
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current.bytes[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current.bytes, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null || current == END ? 0 : current.length - position;
+    }
+
+    /**
+     * 关闭流，同时关闭来源流(后台线程阻塞在读取中时会因此返回)，并等待后台线程退出，
+     * 返回后来源流的文件句柄等资源已释放，后台线程也不会再读取来源流
+     *
+     * @throws IOException 关闭来源流出错
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        filled.clear();
+        try {
+            closeSource();
+        } finally {
+            try {
+                producer.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void closeSource() throws IOException {
+        if (sourceClosed.compareAndSet(false, true)) {
+            source.close();
+        }
+    }
+
+    /**
+     * 保证当前块中还有未读数据
+     *
+     * @return 来源已结束时返回<code>false</code>
+     * @throws IOException 后台线程读取出错或等待被中断
+     */
+    private boolean ensureAvailable() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        while (current == null || position == current.length) {
+            if (current == END) {
+                return false;
+            }
+            if (current != null) {
+                free.offer(current.bytes);
+            }
+            try {
+                current = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for prefetched data");
+            }
+            position = 0;
+            if (current.error != null) {
+                Chunk failed = current;
+                current = END;
+                throw new IOException("prefetch read failed", failed.error);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 后台线程: 循环读取来源流直到结束、出错或流被关闭
+     */
+    private void produce() {
+        InputStream in = source;
+        try {
+            while (!closed) {
+                byte[] bytes = free.take();
+                int length = 0;
+                int read = 0;
+                //尽量填满一个块, 减少交接次数
+                while (length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) >= 0) {
+                    length += read;
+                }
+                if (length > 0) {
+                    filled.put(new Chunk(bytes, length, null));
+                } else {
+                    free.offer(bytes);
+                }
+                if (read < 0) {
+                    filled.put(END);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            //流已关闭
+        } catch (IOException | RuntimeException e) {
+            //流已关闭时来源流可能被并发关闭, 读取出错是预期的
+            if (!closed) {
+                try {
+                    filled.put(new Chunk(new byte[0], 0, e));
+                } catch (InterruptedException ignored) {
+                    //流已关闭
+                }
+            }
+        } finally {
+            try {
+                closeSource();
+            } catch (IOException ignored) {
+                //数据已全部交给读取方, 关闭出错不影响读取结果
+            }
+        }
+    }
+
+    /**
+     * 一个已填充的块
+     */
+    private static class Chunk {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private final Exception error;
+
+        private Chunk(byte[] bytes, int length, Exception error) {
+            this.bytes = bytes;
+            this.length = length;
+            this.error = error;
+        }
+    }
+
+}
@@ -28,11 +28,43 @@ public class ReadableCSVLine implements CSVLine {
      */
     private int currentIndex = 0;
 
+    /**
+     * 列分隔符
+     */
+    private char delimiter = COMMA;
+
+    /**
+     * 引号
+     */
+    private char quote = DOUBLE_QUOTE;
+
     public ReadableCSVLine(String source) {
         this.source = source;
         this.maxIndex = source.length() - 1;
     }
 
+    /**
+     * 按指定方言解析csv行原始记录, 只处理分隔符和引号, 不处理转义符
+     *
+     * @param source csv行原始记录
+     * @param format csv方言
+     */
+    public ReadableCSVLine(String source, CSVFormat format) {
+        this(source);
+        this.delimiter = format.getDelimiter();
+        this.quote = format.getQuote();
+    }
+
+    /**
+     * 通过已切分好的列构建csv行, 此时{@link #nextToken()}直接按顺序返回各列
+     *
+     * @param tokens 当前行的所有列
+     */
+    public ReadableCSVLine(String[] tokens) {
+        this.tokens = tokens;
+        this.maxIndex = tokens.length - 1;
+    }
+
     /**
      * 返回下一个字符串，如果没有则返回<code>null</code>
      * 注意获取下一个字符串会引起当前索引的变化
@@ -44,6 +76,9 @@ public class ReadableCSVLine implements CSVLine {
         if (!hasMore()) {
             return null;
         }
+        if (source == null) {
+            return tokens[currentIndex++];
+        }
         int nextCommaIndex = findNextComma();
         //下一个token开始的索引（包含）
         int tokenBeginIndex = -1,
@@ -72,15 +107,15 @@ public class ReadableCSVLine implements CSVLine {
         }
 
         StringBuilder token = new StringBuilder();
-        char preChar = COMMA;
+        char preChar = delimiter;
 
         //如果开头是双引号，则忽略
-        if (source.charAt(tokenBeginIndex) == DOUBLE_QUOTE) {
+        if (source.charAt(tokenBeginIndex) == quote) {
             tokenBeginIndex++;
         }
 
         //如果最后一位是双引号，则忽略
-        if (source.charAt(tokenEndIndex) == DOUBLE_QUOTE) {
+        if (source.charAt(tokenEndIndex) == quote) {
             tokenEndIndex--;
         }
 
@@ -88,7 +123,7 @@ public class ReadableCSVLine implements CSVLine {
             char currentChar = source.charAt(tokenBeginIndex++);
             boolean skip = false;
             //如果是两个连续引号，则处理为一个引号
-            if (currentChar == DOUBLE_QUOTE && preChar == DOUBLE_QUOTE) {
+            if (currentChar == quote && preChar == quote) {
                 skip = true;
             }
             preChar = currentChar;
@@ -122,8 +157,11 @@ public class ReadableCSVLine implements CSVLine {
      */
     @Override
     public boolean hasMore() {
+        if (source == null) {
+            return currentIndex <= maxIndex;
+        }
         //(currentIndex == maxIndex + 1 && source.charAt(maxIndex) == ',')用于判断最后一列为空的时候的场景
-        return currentIndex <= maxIndex || (currentIndex == maxIndex + 1 && source.charAt(maxIndex) == ',');
+        return currentIndex <= maxIndex || (currentIndex == maxIndex + 1 && source.charAt(maxIndex) == delimiter);
     }
 
     /**
@@ -135,7 +173,7 @@ public class ReadableCSVLine implements CSVLine {
     }
 
     /**
-     * 查找下一个逗号分隔符的位置，若没有则返回-1
+     * 查找下一个分隔符的位置，若没有则返回-1
      * 注意查找分隔符不会引起当前索引的变化
      *
      * @return 返回下一个逗号的索引，若没有下一个逗号，返回-1
@@ -146,9 +184,9 @@ public class ReadableCSVLine implements CSVLine {
         int findIndex = currentIndex;
         while (findIndex <= maxIndex) {
             char currentChar = source.charAt(findIndex);
-            if (!inQuote && COMMA == currentChar) {
+            if (!inQuote && delimiter == currentChar) {
                 return findIndex;
-            } else if (DOUBLE_QUOTE == currentChar) {
+            } else if (quote == currentChar) {
                 inQuote = !inQuote;
             }
             findIndex++;
@@ -21,8 +21,25 @@ public class WritableCSVLine implements CSVLine {
      */
     private int currentIndex = 0;
 
-    private StringBuffer formattedTokensStr = new StringBuffer();
+    private StringBuilder formattedTokensStr = new StringBuilder();
 
+    /**
+     * csv方言
+     */
+    private final CSVFormat format;
+
+    public WritableCSVLine() {
+        this(CSVFormat.DEFAULT);
+    }
+
+    /**
+     * 按指定方言构建csv行, 需要与写入时{@link CSVWriter}的方言一致
+     *
+     * @param format csv方言
+     */
+    public WritableCSVLine(CSVFormat format) {
+        this.format = format;
+    }
 
     /**
      * 增加一个token
@@ -31,9 +48,9 @@ public class WritableCSVLine implements CSVLine {
      */
     public void appendToken(Object token) {
         if (formattedTokensStr.length() > 0) {
-            formattedTokensStr.append(COMMA);
+            formattedTokensStr.append(format.getDelimiter());
         }
-        formattedTokensStr.append(formatForPersistence(token.toString()));
+        CSVWriter.appendEscaped(formattedTokensStr, token.toString(), format);
     }
 
     /**
@@ -64,7 +81,7 @@ public class WritableCSVLine implements CSVLine {
     @Override
     public void reset() {
         this.currentIndex = 0;
-        this.formattedTokensStr = new StringBuffer();
+        this.formattedTokensStr.setLength(0);
         tokens.clear();
     }
 
@@ -79,22 +96,11 @@ public class WritableCSVLine implements CSVLine {
 
 
     /**
-     * 格式化token为可写的格式
+     * 把csv行对应的可写内容追加到目标缓冲区
      *
-     * @param token 单元
-     * @return 内容
+     * @param out 目标缓冲区
      */
-    private String formatForPersistence(String token) {
-        String formattedToken = token;
-        //有双引号
-        if (formattedToken.indexOf("\"") != -1) {
-            formattedToken = formattedToken.replaceAll("\"", "\"\"");
-        }
-
-        //包含逗号
-        if (formattedToken.indexOf(Character.toString(COMMA)) != -1) {
-            formattedToken = DOUBLE_QUOTE + formattedToken + DOUBLE_QUOTE;
-        }
-        return formattedToken;
+    void appendFormattedTokensTo(StringBuilder out) {
+        out.append(formattedTokensStr);
     }
 }
@@ -0,0 +1,221 @@
+package com.github.hinsteny.test.commons.core.io.csv;
+
+import com.github.hinsteny.commons.core.io.csv.CSVColumn;
+import com.github.hinsteny.commons.core.io.csv.CSVMapper;
+import com.github.hinsteny.commons.core.io.csv.CSVReader;
+import com.github.hinsteny.commons.core.io.csv.CSVWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version CSVMapperTest: CSVMapperTest 2026-10-18 14:10 All rights reserved.$
+ */
+public class CSVMapperTest {
+
+    @Test
+    public void testReadByHeader() throws IOException {
+        String content = "\uFEFFname,unknown,order_id,count,amount,rate,ratio,paid,vip,remark\n"
+            + "Tom,x,10001,3,12.50,0.25,1.5,true,false,\"a,b\"\n"
+            + "Jerry,y,10002,,,,,,,\n";
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        List<Order> orders = CSVMapper.of(Order.class).readAll(reader);
+        reader.close();
+
+        Assert.assertEquals(orders.size(), 2);
+        Order first = orders.get(0);
+        Assert.assertEquals(first.getName(), "Tom");
+        Assert.assertEquals(first.getId(), 10001L);
+        Assert.assertEquals(first.getCount(), Integer.valueOf(3));
+        Assert.assertEquals(first.getAmount(), new BigDecimal("12.50"));
+        Assert.assertEquals(first.getRate(), 0.25);
+        Assert.assertEquals(first.getRatio(), 1.5F);
+        Assert.assertTrue(first.isPaid());
+        Assert.assertEquals(first.getVip(), Boolean.FALSE);
+        Assert.assertEquals(first.getRemark(), "a,b");
+        Order second = orders.get(1);
+        Assert.assertEquals(second.getId(), 10002L);
+        Assert.assertNull(second.getCount());
+        Assert.assertNull(second.getAmount());
+        Assert.assertEquals(second.getRate(), 0.0);
+        Assert.assertEquals(second.getRemark(), "");
+    }
+
+    @Test
+    public void testWriteAndReadBack() throws IOException {
+        Order order = new Order();
+        order.setName("Tom");
+        order.setId(-7L);
+        order.setAmount(new BigDecimal("1E+3"));
+        order.setRate(0.5);
+        order.setPaid(true);
+        order.setRemark("say \"hi\"");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(out, StandardCharsets.UTF_8);
+        CSVMapper<Order> mapper = CSVMapper.of(Order.class);
+        mapper.writeAll(writer, Arrays.asList(order, new Order()));
+        writer.close();
+
+        String content = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertEquals(content, "name,order_id,count,amount,rate,ratio,paid,vip,remark\n"
+            + "Tom,-7,,1000,0.5,,true,,\"say \"\"hi\"\"\"\n"
+            + ",0,,,0.0,,false,,\n");
+
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8);
+        List<Order> orders = mapper.readAll(reader);
+        reader.close();
+        Assert.assertEquals(orders.size(), 2);
+        Assert.assertEquals(orders.get(0).getId(), -7L);
+        Assert.assertEquals(orders.get(0).getAmount(), new BigDecimal("1000"));
+        Assert.assertEquals(orders.get(0).getRemark(), "say \"hi\"");
+        Assert.assertEquals(orders.get(1).getName(), "");
+    }
+
+    @Test
+    public void testBeanInOtherModule() throws Exception {
+        //由独立的类加载器加载, 位于该加载器的未命名模块中, 与CSVMapper不在同一个模块
+        Class<?> type = new IsolatedClassLoader().load(CSVPoint.class);
+        Assert.assertNotSame(type.getModule(), CSVMapper.class.getModule());
+
+        String content = "label,x,y,z\nA,1,2,3.5\n";
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        @SuppressWarnings("unchecked")
+        CSVMapper<Object> mapper = (CSVMapper<Object>) CSVMapper.of(type);
+        List<Object> points = mapper.readAll(reader);
+        reader.close();
+        Assert.assertEquals(points.size(), 1);
+        Assert.assertEquals(type.getMethod("getX").invoke(points.get(0)), 1L);
+        Assert.assertEquals(type.getMethod("getY").invoke(points.get(0)), 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(out, StandardCharsets.UTF_8);
+        mapper.writeAll(writer, points);
+        writer.close();
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), "x,y,z,label\n1,2,3.5,A\n");
+    }
+
+    /**
+     * 只从测试类目录加载指定类的类加载器
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        IsolatedClassLoader() {
+            super(ClassLoader.getPlatformClassLoader());
+        }
+
+        Class<?> load(Class<?> type) throws IOException {
+            try (InputStream stream = type.getResourceAsStream(type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class")) {
+                byte[] bytes = stream.readAllBytes();
+                return defineClass(type.getName(), bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    public static class Named {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Order extends Named {
+
+        private static final String IGNORED = "ignored";
+
+        @CSVColumn("order_id")
+        private long id;
+
+        private Integer count;
+
+        private BigDecimal amount;
+
+        private double rate;
+
+        private Float ratio;
+
+        private boolean paid;
+
+        private Boolean vip;
+
+        private String remark;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public Float getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(Float ratio) {
+            this.ratio = ratio;
+        }
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public void setPaid(boolean paid) {
+            this.paid = paid;
+        }
+
+        public Boolean getVip() {
+            return vip;
+        }
+
+        public void setVip(Boolean vip) {
+            this.vip = vip;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+    }
+
+}
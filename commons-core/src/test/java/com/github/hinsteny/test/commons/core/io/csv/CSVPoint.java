@@ -0,0 +1,50 @@
+package com.github.hinsteny.test.commons.core.io.csv;
+
+/**
+ * 不引用本模块类型的bean, 用于在其他模块中加载
+ *
+ * @author Hinsteny
+ * @version CSVPoint: CSVPoint 2026-10-19 09:10 All rights reserved.$
+ */
+public class CSVPoint {
+
+    private long x;
+
+    private int y;
+
+    private double z;
+
+    private String label;
+
+    public long getX() {
+        return x;
+    }
+
+    public void setX(long x) {
+        this.x = x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public void setY(int y) {
+        this.y = y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public void setZ(double z) {
+        this.z = z;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.hinsteny.test.commons.core.io.csv;
+
+import com.github.hinsteny.commons.core.io.csv.CSVCheckpoint;
+import com.github.hinsteny.commons.core.io.csv.CSVFormat;
+import com.github.hinsteny.commons.core.io.csv.CSVPredicate;
+import com.github.hinsteny.commons.core.io.csv.CSVReader;
+import com.github.hinsteny.commons.core.io.csv.CSVRecordCursor;
+import com.github.hinsteny.commons.core.io.csv.ReadableCSVLine;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version CSVReaderTest: CSVReaderTest 2026-10-18 10:40 All rights reserved.$
+ */
+public class CSVReaderTest {
+
+    @Test
+    public void testReadLines() throws IOException {
+        String content = "id,name,remark\r\n1,\"Hin,steny\",\"say \"\"hi\"\"\"\n2,,\n3,abc,last";
+        CSVReader reader = newReader(content, 8);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"id", "name", "remark"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"1", "Hin,steny", "say \"hi\""});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"2", "", ""});
+        ReadableCSVLine line = reader.nextCSVLine();
+        Assert.assertEquals(line.nextToken(), "3");
+        Assert.assertEquals(line.nextToken(), "abc");
+        Assert.assertEquals(line.nextToken(), "last");
+        Assert.assertFalse(line.hasMore());
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+    }
+
+    @Test
+    public void testSameAsLegacyLine() throws IOException {
+        String[] lines = {"a,b,c", "\"x,y\",z,", ",\"\"\"q\"\"\",2"};
+        CSVReader reader = newReader(String.join("\n", lines), 1024);
+        for (String source : lines) {
+            Assert.assertEquals(reader.nextCSVLine().tokens(), new ReadableCSVLine(source).tokens());
+        }
+        reader.close();
+    }
+
+    @Test
+    public void testStopAtEmptyLine() throws IOException {
+        CSVReader reader = newReader("a,b\n\nc,d\n", 1024);
+        Assert.assertNotNull(reader.nextCSVLine());
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+    }
+
+    @Test
+    public void testMultiLineQuotedField() throws IOException {
+        CSVReader reader = newReader("1,\"first line\r\nsecond, line\",x\n2,\"\n\",y", 4);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"1", "first line\r\nsecond, line", "x"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"2", "\n", "y"});
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testUnclosedQuoteExceedsMaxRecordLength() throws IOException {
+        CSVReader reader = newReader("1,\"never closed\n2,b\n3,c\n4,d\n", 4);
+        reader.setMaxRecordLength(8);
+        reader.nextCSVLine();
+    }
+
+    @Test
+    public void testCursorPrimitiveGetters() throws IOException {
+        CSVReader reader = newReader("-9223372036854775808,2147483647,0.1,-12.50,\"1,234.5600\"\n42,-7,3.14159265358979323846,1e3,9.99\n", 16);
+        CSVRecordCursor cursor = reader.cursor();
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(cursor.fieldCount(), 5);
+        Assert.assertEquals(cursor.getLong(0), Long.MIN_VALUE);
+        Assert.assertEquals(cursor.getInt(1), Integer.MAX_VALUE);
+        Assert.assertEquals(cursor.getDouble(2), 0.1);
+        Assert.assertEquals(cursor.getDouble(3), -12.5);
+        Assert.assertEquals(cursor.get(4).toString(), "1,234.5600");
+        Assert.assertEquals(cursor.get(4).charAt(1), ',');
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(cursor.getLong(0), 42L);
+        Assert.assertEquals(cursor.getInt(1), -7);
+        Assert.assertEquals(cursor.getDouble(2), Double.parseDouble("3.14159265358979323846"));
+        Assert.assertEquals(cursor.getDouble(3), 1000.0);
+        Assert.assertEquals(cursor.getBigDecimal(4), new BigDecimal("9.99"));
+        Assert.assertFalse(cursor.next());
+        reader.close();
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void testCursorRejectsOverflow() throws IOException {
+        CSVReader reader = newReader("9223372036854775808", 16);
+        CSVRecordCursor cursor = reader.cursor();
+        Assert.assertTrue(cursor.next());
+        cursor.getLong(0);
+    }
+
+    @Test
+    public void testDialects() throws IOException {
+        CSVReader tsv = new CSVReader(new ByteArrayInputStream("a\tb,c\t\"d\te\"\n".getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8, CSVFormat.TSV, 4);
+        Assert.assertEquals(tsv.nextCSVLine().tokens(), new String[]{"a", "b,c", "d\te"});
+        tsv.close();
+
+        CSVFormat format = CSVFormat.SEMICOLON.toBuilder().escape('\\').commentMarker('#').build();
+        String content = "# exported \"by\" bank\r\nid;name\n#another comment\n1;\"a\\\"b;c\"\n2;x\\;y\n";
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, format, 5);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"id", "name"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"1", "a\"b;c"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"2", "x;y"});
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+
+        Assert.assertEquals(new ReadableCSVLine("1|\"x|y\"|", CSVFormat.PIPE).tokens(), new String[]{"1", "x|y", ""});
+    }
+
+    @Test
+    public void testCompressedSources() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append(i).append(",\"name ").append(i).append("\n第二行\",").append(i * 0.5).append('\n');
+        }
+        byte[] plain = content.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(plain);
+        }
+        assertCompressedContent(CSVReader.gzip(new ByteArrayInputStream(gzip.toByteArray()), StandardCharsets.UTF_8, CSVFormat.DEFAULT));
+
+        ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(deflate)) {
+            out.write(plain);
+        }
+        assertCompressedContent(CSVReader.deflate(new ByteArrayInputStream(deflate.toByteArray()), StandardCharsets.UTF_8, CSVFormat.DEFAULT, false));
+
+        Path zip = Files.createTempFile("csv-reader", ".zip");
+        try {
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+                out.putNextEntry(new ZipEntry("readme.txt"));
+                out.write("ignored".getBytes(StandardCharsets.UTF_8));
+                out.putNextEntry(new ZipEntry("data/orders.csv"));
+                out.write(plain);
+            }
+            assertCompressedContent(CSVReader.zipEntry(zip, "data/orders.csv", StandardCharsets.UTF_8, CSVFormat.DEFAULT));
+        } finally {
+            Files.delete(zip);
+        }
+    }
+
+    @Test
+    public void testCloseReleasesBlockedSource() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append(i).append(",name ").append(i).append('\n');
+        }
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        //只返回一半的数据, 之后像阻塞的socket一样不响应中断, 直到流被关闭
+        CountDownLatch sourceClosed = new CountDownLatch(1);
+        InputStream source = new FilterInputStream(new ByteArrayInputStream(gzip.toByteArray(), 0, gzip.size() / 2)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read >= 0) {
+                    return read;
+                }
+                while (sourceClosed.getCount() > 0) {
+                    try {
+                        sourceClosed.await();
+                    } catch (InterruptedException e) {
+                        //忽略中断
+                    }
+                }
+                throw new IOException("stream closed");
+            }
+
+            @Override
+            public void close() {
+                sourceClosed.countDown();
+            }
+        };
+        CSVReader reader = CSVReader.gzip(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"0", "name 0"});
+        reader.close();
+        //关闭返回时来源流已关闭
+        Assert.assertEquals(sourceClosed.getCount(), 0);
+    }
+
+    @Test
+    public void testProjectionAndPredicates() throws IOException {
+        String content = "1,CN,\"a,b\",x1,10\n2,US,c,x2,20\n3,CN,\"d\ne\",y3,30\n4,CN,f\n5,CN,g,x5,50,extra\n\n6,CN,h,x6,60";
+        CSVReader reader = newReader(content, 4);
+        reader.setProjection(4, 2, 0);
+        reader.addPredicate(CSVPredicate.equalTo(1, "CN"));
+        reader.addPredicate(CSVPredicate.startsWith(3, "x"));
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"10", "a,b", "1"});
+        CSVRecordCursor cursor = reader.cursor();
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(cursor.fieldCount(), 3);
+        Assert.assertEquals(cursor.getInt(0), 50);
+        Assert.assertEquals(cursor.getString(1), "g");
+        Assert.assertEquals(cursor.getLong(2), 5L);
+        //空行不参与过滤, 仍然作为结束标志
+        Assert.assertNull(reader.nextCSVLine());
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"60", "h", "6"});
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+
+        //不设置投影时只过滤, 不存在的列按空字符串比较
+        reader = newReader("a,1\nb\nc,\nd,2", 1024);
+        reader.addPredicate(CSVPredicate.equalTo(1, ""));
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"b"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"c", ""});
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+    }
+
+    @Test
+    public void testRecordOffsetsAndCheckpoint() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<Long> offsets = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 0; i < 6000; i++) {
+            offsets.add(bytes);
+            String line = i + ",\"结算😀\r\n第" + i + "行\",é\r\n";
+            content.append(line);
+            bytes += line.getBytes(StandardCharsets.UTF_8).length;
+        }
+        offsets.add(bytes);
+        Path file = Files.createTempFile("csv-offset", ".csv");
+        Path checkpointFile = Files.createTempFile("csv-offset", ".checkpoint");
+        Files.delete(checkpointFile);
+        try {
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            CSVReader reader = CSVReader.open(file, StandardCharsets.UTF_8, CSVFormat.DEFAULT);
+            CSVCheckpoint checkpoint = new CSVCheckpoint(checkpointFile);
+            Assert.assertEquals(checkpoint.getOffset(), 0L);
+            for (int i = 0; i < 4000; i++) {
+                ReadableCSVLine line = reader.nextCSVLine();
+                Assert.assertEquals(line.tokens()[0], String.valueOf(i));
+                Assert.assertEquals(reader.getRecordOffset(), (long) offsets.get(i));
+                Assert.assertEquals(reader.getRecordEndOffset(), (long) offsets.get(i + 1));
+                if (i == 2500) {
+                    checkpoint.commit(reader.getRecordEndOffset(), i + 1);
+                }
+            }
+            reader.close();
+
+            //模拟中断后重启
+            checkpoint = new CSVCheckpoint(checkpointFile);
+            Assert.assertEquals(checkpoint.getRecords(), 2501L);
+            reader = CSVReader.open(file, StandardCharsets.UTF_8, CSVFormat.DEFAULT);
+            reader.seek(checkpoint.getOffset());
+            long records = checkpoint.getRecords();
+            ReadableCSVLine line;
+            while ((line = reader.nextCSVLine()) != null) {
+                Assert.assertEquals(line.tokens(), new String[]{String.valueOf(records), "结算😀\r\n第" + records + "行", "é"});
+                Assert.assertEquals(reader.getRecordOffset(), (long) offsets.get((int) records));
+                records++;
+            }
+            Assert.assertEquals(records, 6000L);
+            Assert.assertEquals(reader.getRecordEndOffset(), bytes);
+            reader.close();
+            checkpoint.clear();
+            Assert.assertFalse(Files.exists(checkpointFile));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertCompressedContent(CSVReader reader) throws IOException {
+        CSVRecordCursor cursor = reader.cursor();
+        int count = 0;
+        while (cursor.next()) {
+            Assert.assertEquals(cursor.getLong(0), count);
+            Assert.assertEquals(cursor.getString(1), "name " + count + "\n第二行");
+            Assert.assertEquals(cursor.getDouble(2), count * 0.5);
+            count++;
+        }
+        Assert.assertEquals(count, 20000);
+        reader.close();
+    }
+
+    private static CSVReader newReader(String content, int bufferSize) {
+        return new CSVReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, bufferSize);
+    }
+
+}
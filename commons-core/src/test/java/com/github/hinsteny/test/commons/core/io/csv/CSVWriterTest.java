@@ -0,0 +1,88 @@
+package com.github.hinsteny.test.commons.core.io.csv;
+
+import com.github.hinsteny.commons.core.io.csv.CSVFormat;
+import com.github.hinsteny.commons.core.io.csv.CSVReader;
+import com.github.hinsteny.commons.core.io.csv.CSVWriter;
+import com.github.hinsteny.commons.core.io.csv.WritableCSVLine;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version CSVWriterTest: CSVWriterTest 2026-10-18 13:20 All rights reserved.$
+ */
+public class CSVWriterTest {
+
+    @Test
+    public void testWriteFieldsAndPrimitives() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(out, StandardCharsets.UTF_8);
+        writer.setBatchSize(2);
+        writer.writeLong(-42L).writeField("a,b").writeField("say \"hi\"").writeDouble(0.5).writeDecimal(new BigDecimal("1E+3")).endLine();
+        writer.writeField(null).writeField("line\nbreak").writeField("结算").endLine();
+        WritableCSVLine line = new WritableCSVLine();
+        line.appendToken("x");
+        line.appendToken(7);
+        writer.write(line);
+        writer.endLine();
+        writer.close();
+
+        String content = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertEquals(content, "-42,\"a,b\",\"say \"\"hi\"\"\",0.5,1000\n,\"line\nbreak\",结算\nx,7\n");
+
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"-42", "a,b", "say \"hi\"", "0.5", "1000"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"", "line\nbreak", "结算"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"x", "7"});
+        reader.close();
+    }
+
+    @Test
+    public void testWriteLineCountsTowardBatch() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(out, StandardCharsets.UTF_8);
+        writer.setBatchSize(1);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append('a');
+        }
+        WritableCSVLine line = new WritableCSVLine();
+        line.appendToken(value.toString());
+        writer.write(line);
+        writer.endLine();
+        writer.write(line);
+        //整行写入也按批次写出, 不会一直留在缓冲区
+        Assert.assertTrue(out.size() > 0);
+        writer.close();
+        Assert.assertEquals(out.size(), 10001);
+    }
+
+    @Test
+    public void testWriteWithDialect() throws IOException {
+        CSVFormat format = CSVFormat.builder().delimiter('|').escape('\\').commentMarker('#').recordSeparator("\r\n").build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(out, StandardCharsets.UTF_8, format);
+        writer.writeField("#1").writeField("a|b").writeField("say \"hi\"").writeField("c:\\tmp").writeField("a,b").endLine();
+        WritableCSVLine line = new WritableCSVLine(format);
+        line.appendToken("x");
+        line.appendToken("y|z");
+        writer.write(line);
+        writer.endLine();
+        writer.close();
+
+        String content = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertEquals(content, "\"#1\"|\"a|b\"|\"say \\\"hi\\\"\"|\"c:\\\\tmp\"|a,b\r\nx|\"y|z\"\r\n");
+
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8, format);
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"#1", "a|b", "say \"hi\"", "c:\\tmp", "a,b"});
+        Assert.assertEquals(reader.nextCSVLine().tokens(), new String[]{"x", "y|z"});
+        Assert.assertNull(reader.nextCSVLine());
+        reader.close();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.hinsteny.test.commons.core.io.csv;
+
+import com.github.hinsteny.commons.core.io.csv.CSVReader;
+import com.github.hinsteny.commons.core.io.csv.ParallelCSVReader;
+import com.github.hinsteny.commons.core.io.csv.ReadableCSVLine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version ParallelCSVReaderTest: ParallelCSVReaderTest 2026-10-18 12:10 All rights reserved.$
+ */
+public class ParallelCSVReaderTest {
+
+    @Test
+    public void testParallelLinesKeepOrder() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append(i).append(",\"name ").append(i).append("\nwith, break\",结算").append(i).append('\n');
+        }
+        Path file = Files.createTempFile("parallel", ".csv");
+        try {
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            List<String> expected = new ArrayList<>();
+            try (InputStream stream = Files.newInputStream(file)) {
+                CSVReader reader = new CSVReader(stream, StandardCharsets.UTF_8);
+                ReadableCSVLine line;
+                while ((line = reader.nextCSVLine()) != null) {
+                    expected.add(String.join("|", line.tokens()));
+                }
+            }
+            Assert.assertEquals(expected.size(), 2000);
+
+            ParallelCSVReader reader = new ParallelCSVReader(file, StandardCharsets.UTF_8, 1024);
+            List<String> actual = reader.lines().map(line -> String.join("|", line.tokens())).collect(Collectors.toList());
+            Assert.assertEquals(actual, expected);
+
+            AtomicInteger count = new AtomicInteger();
+            reader.forEach(line -> count.incrementAndGet(), false);
+            Assert.assertEquals(count.get(), 2000);
+            reader.close();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testQuoteInsideFieldMatchesReader() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            //列中间的引号是普通字符, 不会开始引号列
+            content.append(i).append(",a\"b").append(i).append(",\"multi\nline, ").append(i).append("\"\n");
+            if (i % 7 == 0) {
+                content.append("x\"\"y,\"\"\"quoted\"\"\n").append(i).append("\",z\r\n");
+            }
+        }
+        Path file = Files.createTempFile("parallel-quote", ".csv");
+        try {
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            List<String> expected = new ArrayList<>();
+            try (InputStream stream = Files.newInputStream(file)) {
+                CSVReader reader = new CSVReader(stream, StandardCharsets.UTF_8);
+                ReadableCSVLine line;
+                while ((line = reader.nextCSVLine()) != null) {
+                    expected.add(String.join("|", line.tokens()));
+                }
+            }
+            Assert.assertEquals(expected.size(), 572);
+            Assert.assertEquals(expected.get(0), "0|a\"b0|multi\nline, 0");
+
+            for (int chunkSize : new int[]{7, 64, 1000}) {
+                ParallelCSVReader reader = new ParallelCSVReader(file, StandardCharsets.UTF_8, chunkSize);
+                List<String> actual = reader.lines().map(line -> String.join("|", line.tokens())).collect(Collectors.toList());
+                reader.close();
+                Assert.assertEquals(actual, expected, "chunk size " + chunkSize);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
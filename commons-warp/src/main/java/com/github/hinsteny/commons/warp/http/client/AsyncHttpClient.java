@@ -0,0 +1,292 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import com.alibaba.fastjson.JSONArray;
+import com.github.hinsteny.commons.core.utils.StringUtil;
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.protocol.AsyncHttpClientProtocol;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ParamType;
+import com.github.hinsteny.commons.warp.http.utils.ParamsUtil;
+import com.github.hinsteny.commons.warp.senstive.SensitiveUtil;
+import com.github.hinsteny.commons.warp.utils.MapUtil;
+import com.google.common.base.Stopwatch;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.Header;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 基于{@link java.net.http.HttpClient}非阻塞IO的异步http client.
+ * <p>
+ * 请求参数的组装方式、状态码校验和返回结果的处理与{@link HttpClient}保持一致；
+ * 设置了{@link com.github.hinsteny.commons.warp.http.protocol.PreHandleResponse}时，会把响应适配为
+ * {@link org.apache.http.HttpResponse}后交给预处理器
+ * </p>
+ * 与{@link HttpClient}的差异:
+ * <ul>
+ * <li>连接超时由底层client统一设置，{@link HttpRequest#getConnectTimeout()}不生效</li>
+ * <li>{@link HttpRequest#getSocketTimeout()}作为整个请求的超时时间</li>
+ * <li>底层client不允许设置的请求头(如Host、Connection)会被忽略</li>
+ * </ul>
+ *
+ * @author Hinsteny
+ * @version AsyncHttpClient: 2026-10-18 16:55 All rights reserved.$
+ */
+public class AsyncHttpClient implements AsyncHttpClientProtocol {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncHttpClient.class);
+
+    /**
+     * 默认请求超时时间
+     */
+    private static final int REQUEST_TIME_OUT = 10000;
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private final java.net.http.HttpClient httpClient;
+
+    /**
+     * request未设置超时时间时使用的请求超时时间
+     */
+    private final int requestTimeout;
+
+    public AsyncHttpClient(java.net.http.HttpClient httpClient) {
+        this(httpClient, REQUEST_TIME_OUT);
+    }
+
+    /**
+     * @param httpClient 底层client
+     * @param requestTimeout request未设置超时时间时使用的请求超时时间(毫秒)
+     */
+    public AsyncHttpClient(java.net.http.HttpClient httpClient, int requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * 异步发送报文
+     *
+     * @param request 请求
+     * @return 返回参数的future
+     */
+    @Override
+    public CompletableFuture<byte[]> sendBackByteAsync(HttpRequest request) {
+        return send(request, response -> {
+            if (null != request.getPreHandleResponse()) {
+                return preHandle(request, response).getBytes();
+            }
+            return response.body();
+        });
+    }
+
+    /**
+     * 异步发送报文
+     *
+     * @param request 请求
+     * @return 返回参数的future
+     */
+    @Override
+    public CompletableFuture<String> sendBackStringAsync(HttpRequest request) {
+        return send(request, response -> getResponseStr(request, response));
+    }
+
+    /**
+     * 异步发送报文
+     *
+     * @param request 请求
+     * @return 返回参数的future, 统一返回json结果
+     */
+    @Override
+    public CompletableFuture<Map<String, String>> sendBackMapAsync(HttpRequest request) {
+        return send(request, response -> {
+            if (null != request.getPreHandleResponse()) {
+                return HttpClient.toBodyMap(preHandle(request, response));
+            }
+            return HttpClient.toBodyMap(response.body(), charsetOf(response));
+        });
+    }
+
+    /**
+     * 发起请求并在响应到达后转换结果, 所有异常统一转换为{@link HttpException}
+     */
+    private <T> CompletableFuture<T> send(HttpRequest request, ResponseConverter<T> converter) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        java.net.http.HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request);
+        } catch (HttpException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(httpRequest, BodyHandlers.ofByteArray())
+            .handle((response, error) -> {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Http request response: uri={}, time={} ", request.getUri(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
+                }
+                if (error != null) {
+                    logger.error("Send http request IOException, error={}", error);
+                    throw new CompletionException(new HttpException(HttpErrorCode.ASK_SERVICE_ERROR));
+                }
+                checkHttpStatus(response);
+                try {
+                    return converter.convert(response);
+                } catch (Exception e) {
+                    logger.error("Handle the response content error, error={}", e);
+                    throw new CompletionException(new HttpException(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR));
+                }
+            });
+    }
+
+    /**
+     * 按{@link HttpClient}的规则组装请求
+     */
+    private java.net.http.HttpRequest buildRequest(HttpRequest request) throws HttpException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Http request params: uri=[{}], headers=[{}], params=[{}], body=[{}]", request.getUri(), JSONArray.toJSONString(request.getHeaders()),
+                SensitiveUtil.toJson(request.getParamsMap()), request.getBodyText());
+        }
+        int timeout = request.getSocketTimeout() > 0 ? request.getSocketTimeout() : requestTimeout;
+        String url = request.getUri();
+        BodyPublisher body = null;
+        String contentType = null;
+        if (request.getMethodType() == MethodType.GET) {
+            url = request.getUri() + ParamsUtil.getParamsString(request.getParamsMap());
+        } else if (request.getMethodType() == MethodType.POST) {
+            if (request.getParamType() == ParamType.APPLICATION_JSON) {
+                String json = null;
+                if (StringUtil.isNotBlank(request.getBodyText())) {
+                    json = request.getBodyText();
+                } else if (MapUtil.isNotEmpty(request.getParamsMap())) {
+                    json = MapUtil.mapToJson(request.getParamsMap());
+                }
+                if (json != null) {
+                    body = BodyPublishers.ofString(json, StandardCharsets.UTF_8);
+                    contentType = ContentType.APPLICATION_JSON.toString();
+                }
+            } else if (request.getParamType() == ParamType.X_WWW_FORM_URLENCODED) {
+                if (request.getParamsMap() == null) {
+                    throw new HttpException(HttpErrorCode.PARAM_TYPE_NOT_SUPPORT, "请求参数不能为空");
+                }
+                String form = ParamsUtil.getParamsString(request.getParamsMap());
+                body = BodyPublishers.ofString(form.isEmpty() ? form : form.substring(1), StandardCharsets.UTF_8);
+                contentType = ContentType.APPLICATION_FORM_URLENCODED.withCharset(StandardCharsets.UTF_8).toString();
+            } else if (request.getParamType() == ParamType.TEXT) {
+                body = BodyPublishers.ofString(request.getBodyText(), StandardCharsets.UTF_8);
+                contentType = ContentType.create("text/plain", StandardCharsets.UTF_8).toString();
+            } else if (request.getParamType() == ParamType.QUERY) {
+                if (StringUtil.isNotBlank(request.getBodyText())) {
+                    url = String.format("%s?%s", request.getUri(), URLEncoder.encode(request.getBodyText(), StandardCharsets.UTF_8));
+                }
+            } else {
+                throw new HttpException(HttpErrorCode.METHOD_TYPE_NOT_SUPPORT);
+            }
+        } else {
+            throw new HttpException(HttpErrorCode.CHECK_REQUEST_ERROR);
+        }
+
+        java.net.http.HttpRequest.Builder builder;
+        try {
+            builder = java.net.http.HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMillis(timeout));
+        } catch (IllegalArgumentException e) {
+            throw new HttpException(HttpErrorCode.ASK_SERVICE_INVALID);
+        }
+        if (contentType != null) {
+            builder.header(CONTENT_TYPE, contentType);
+        }
+        if (null != request.getHeaders()) {
+            for (Header header : request.getHeaders()) {
+                try {
+                    if (CONTENT_TYPE.equalsIgnoreCase(header.getName())) {
+                        builder.setHeader(CONTENT_TYPE, header.getValue());
+                    } else {
+                        builder.header(header.getName(), header.getValue());
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignore restricted http header: {}", header.getName());
+                }
+            }
+        }
+        return builder.method(request.getMethodType() == MethodType.GET ? "GET" : "POST", body == null ? BodyPublishers.noBody() : body).build();
+    }
+
+    /**
+     * 检查http返回的内容是否正确
+     */
+    private void checkHttpStatus(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        logger.debug("Http Status is {}", status);
+        if (status != HttpClient.HTTP_STATUS_200 && status != HttpClient.HTTP_STATUS_302) {
+            throw new CompletionException(new HttpException(HttpErrorCode.ASK_RESPONSE_INVALID));
+        }
+    }
+
+    /**
+     * 获取服务端返回结果的字符串内容
+     */
+    private String getResponseStr(HttpRequest request, HttpResponse<byte[]> response) throws Exception {
+        if (null != request.getPreHandleResponse()) {
+            return preHandle(request, response);
+        }
+        return new String(response.body(), charsetOf(response));
+    }
+
+    private Charset charsetOf(HttpResponse<byte[]> response) {
+        return HttpClient.charsetOf(response.headers().firstValue(CONTENT_TYPE).orElse(null));
+    }
+
+    /**
+     * 把响应适配为{@link org.apache.http.HttpResponse}后交给预处理器
+     */
+    private String preHandle(HttpRequest request, HttpResponse<byte[]> response) throws Exception {
+        ProtocolVersion version = response.version() == Version.HTTP_2 ? new ProtocolVersion("HTTP", 2, 0) : HttpVersion.HTTP_1_1;
+        BasicHttpResponse adapted = new BasicHttpResponse(new BasicStatusLine(version, response.statusCode(), null));
+        for (Map.Entry<String, List<String>> entry : response.headers().map().entrySet()) {
+            for (String value : entry.getValue()) {
+                adapted.addHeader(entry.getKey(), value);
+            }
+        }
+        ByteArrayEntity entity = new ByteArrayEntity(response.body());
+        response.headers().firstValue(CONTENT_TYPE).ifPresent(entity::setContentType);
+        adapted.setEntity(entity);
+        return request.getPreHandleResponse().preHandle(adapted);
+    }
+
+    /**
+     * 响应结果转换
+     *
+     * @param <T> 结果类型
+     */
+    private interface ResponseConverter<T> {
+
+        /**
+         * 转换响应结果
+         *
+         * @param response 响应
+         * @return 结果
+         * @throws Exception 转换异常
+         */
+        T convert(HttpResponse<byte[]> response) throws Exception;
+    }
+
+}
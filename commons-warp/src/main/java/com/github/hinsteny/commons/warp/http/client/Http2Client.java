@@ -0,0 +1,91 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.protocol.HttpClientProtocol;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 基于HTTP/2的同步http client.
+ * <p>
+ * 同一主机的并发请求复用一个连接(多路复用), 请求头经过HPACK压缩; https通过ALPN协商,
+ * 服务端不支持HTTP/2时自动退回HTTP/1.1. 请求参数的组装方式和返回结果的处理与{@link HttpClient}一致,
+ * 差异见{@link AsyncHttpClient}
+ * </p>
+ *
+ * @author Hinsteny
+ * @version Http2Client: 2026-10-18 21:55 All rights reserved.$
+ */
+public class Http2Client implements HttpClientProtocol {
+
+    private final AsyncHttpClient asyncHttpClient;
+
+    /**
+     * @param httpClient 底层client, 需要设置{@link java.net.http.HttpClient.Version#HTTP_2}
+     * @param requestTimeout request未设置超时时间时使用的请求超时时间(毫秒)
+     */
+    public Http2Client(java.net.http.HttpClient httpClient, int requestTimeout) {
+        this.asyncHttpClient = new AsyncHttpClient(httpClient, requestTimeout);
+    }
+
+    /**
+     * 发送报文
+     *
+     * @param request 拦截方法
+     * @return 返回参数 统一返回json结果
+     */
+    @Override
+    public byte[] sendBackByte(HttpRequest request) throws HttpException {
+        return await(asyncHttpClient.sendBackByteAsync(request));
+    }
+
+    /**
+     * 发送报文
+     *
+     * @param request 拦截方法
+     * @return 返回参数 统一返回json结果
+     */
+    @Override
+    public String sendBackString(HttpRequest request) throws HttpException {
+        return await(asyncHttpClient.sendBackStringAsync(request));
+    }
+
+    /**
+     * 发送报文
+     *
+     * @param request 拦截方法
+     * @return 返回参数 统一返回json结果
+     */
+    @Override
+    public Map<String, String> sendBackMap(HttpRequest request) throws HttpException {
+        return await(asyncHttpClient.sendBackMapAsync(request));
+    }
+
+    /**
+     * 对应的异步client, 与当前client共享连接
+     *
+     * @return 异步client
+     */
+    public AsyncHttpClient async() {
+        return asyncHttpClient;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws HttpException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HttpException(HttpErrorCode.ASK_SEND_TIMEOUT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpException) {
+                throw (HttpException) e.getCause();
+            }
+            throw new HttpException(HttpErrorCode.ASK_SERVICE_ERROR);
+        }
+    }
+
+}
@@ -1,40 +1,77 @@
 package com.github.hinsteny.commons.warp.http.client;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.TypeReference;
+import com.github.hinsteny.commons.core.io.csv.CSVFormat;
+import com.github.hinsteny.commons.core.io.csv.CSVReader;
+import com.github.hinsteny.commons.core.io.csv.ReadableCSVLine;
 import com.github.hinsteny.commons.core.utils.StringUtil;
 import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
 import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.metrics.HttpMetrics;
 import com.github.hinsteny.commons.warp.http.protocol.HttpClientProtocol;
+import com.github.hinsteny.commons.warp.http.protocol.ResponseStreamHandler;
 import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.HttpResult;
 import com.github.hinsteny.commons.warp.http.request.MethodType;
 import com.github.hinsteny.commons.warp.http.request.ParamType;
 import com.github.hinsteny.commons.warp.http.request.ResponseType;
 import com.github.hinsteny.commons.warp.http.utils.ParamsUtil;
 import com.github.hinsteny.commons.warp.senstive.SensitiveUtil;
 import com.github.hinsteny.commons.warp.utils.MapUtil;
-import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.apache.http.Consts;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
+import org.apache.http.ParseException;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,10 +95,233 @@ public class HttpClient implements HttpClientProtocol {
     private static final int CONNECT_TIME_OUT = 10000;
     private static final int SOCKET_TIME_OUT = 10000;
 
+    /**
+     * 没有连接池信息时默认批量执行器的线程数, 与{@link HttpClientProfile}默认的最大连接数一致
+     */
+    private static final int DEFAULT_BATCH_THREADS = 200;
+
+    private static final AtomicInteger BATCH_THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * 批量请求中当前线程正在执行的请求, 超过截止时间时用于中断请求
+     */
+    private static final ThreadLocal<AbortHandle> ABORT_HANDLE = new ThreadLocal<>();
+
+    /**
+     * 返回结果map的类型
+     */
+    private static final Type BODY_MAP_TYPE = new TypeReference<Map<String, String>>() {
+    }.getType();
+
     private CloseableHttpClient httpClients;
 
+    /**
+     * 连接池, 用于统计连接
+     */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * 请求指标
+     */
+    private final HttpMetrics metrics = new HttpMetrics();
+
+    /**
+     * 默认请求配置, request未设置超时时间时使用
+     */
+    private final RequestConfig defaultConfig;
+
+    /**
+     * 批量请求的执行器
+     */
+    private volatile Executor batchExecutor;
+
+    /**
+     * 未设置执行器时使用的默认执行器, 首次使用时创建
+     */
+    private volatile ExecutorService defaultBatchExecutor;
+
+    /**
+     * GET请求的响应缓存, 为空时不缓存
+     */
+    private volatile HttpResponseCache responseCache;
+
+    /**
+     * 是否合并并发的相同GET请求
+     */
+    private volatile boolean singleFlight;
+
+    /**
+     * 正在执行的GET请求
+     */
+    private final ConcurrentMap<String, CompletableFuture<HttpResponseCache.Entry>> inFlight = new ConcurrentHashMap<>();
+
     public HttpClient(CloseableHttpClient httpClients) {
+        this(httpClients, RequestConfig.custom().setConnectTimeout(CONNECT_TIME_OUT).setSocketTimeout(SOCKET_TIME_OUT).build());
+    }
+
+    /**
+     * @param httpClients 底层client
+     * @param defaultConfig 默认请求配置(超时时间、从连接池获取连接的超时时间等)
+     */
+    public HttpClient(CloseableHttpClient httpClients, RequestConfig defaultConfig) {
+        this(httpClients, defaultConfig, null);
+    }
+
+    HttpClient(CloseableHttpClient httpClients, RequestConfig defaultConfig, PoolingHttpClientConnectionManager connectionManager) {
         this.httpClients = httpClients;
+        this.defaultConfig = defaultConfig;
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * 请求指标: 按路由统计的耗时分布、正在执行的请求数和错误码次数
+     *
+     * @return 请求指标
+     */
+    public HttpMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 连接池整体的连接统计(已租用、可用、等待获取连接的请求数)
+     *
+     * @return 连接统计, 连接池不是由{@link HttpClientsInstance}创建时为null
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager == null ? null : connectionManager.getTotalStats();
+    }
+
+    /**
+     * 按路由的连接统计
+     *
+     * @return 路由标识(见{@link HttpMetrics#routeOf(String)})到连接统计的映射
+     */
+    public Map<String, PoolStats> getRoutePoolStats() {
+        Map<String, PoolStats> stats = new HashMap<>(16);
+        if (connectionManager != null) {
+            for (HttpRoute route : connectionManager.getRoutes()) {
+                stats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 设置GET请求的响应缓存, 设置了{@link com.github.hinsteny.commons.warp.http.protocol.PreHandleResponse}的请求不使用缓存
+     *
+     * @param responseCache 响应缓存, 为空时关闭缓存
+     */
+    public void setResponseCache(HttpResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * 开启后并发的相同GET请求(uri、请求参数和请求头都相同)只发出一次, 所有调用方共享同一个响应,
+     * 每个调用方拿到的返回结果都是独立的对象; 设置了{@link com.github.hinsteny.commons.warp.http.protocol.PreHandleResponse}的请求不合并
+     *
+     * @param singleFlight 是否合并请求
+     */
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * 设置批量请求{@link #sendAll(List, ResponseType, long, TimeUnit)}使用的执行器，每个请求占用一个任务；
+     * 未设置时使用该client自己的守护线程池，线程数与连接池的最大连接数一致(多出的线程只会等待连接)，
+     * 空闲的线程会被回收，运行在Java 21及以上版本时可以传入
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}，让阻塞调用运行在虚拟线程上
+     *
+     * @param batchExecutor 执行器
+     */
+    public void setBatchExecutor(Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * 批量请求和对冲请求使用的执行器
+     */
+    Executor batchExecutor() {
+        Executor executor = batchExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        ExecutorService defaultExecutor = defaultBatchExecutor;
+        if (defaultExecutor == null) {
+            synchronized (this) {
+                defaultExecutor = defaultBatchExecutor;
+                if (defaultExecutor == null) {
+                    int threads = connectionManager != null ? connectionManager.getMaxTotal() : DEFAULT_BATCH_THREADS;
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "http-batch-" + BATCH_THREAD_INDEX.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    pool.allowCoreThreadTimeOut(true);
+                    defaultBatchExecutor = defaultExecutor = pool;
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * 并发发送一批报文并等待全部返回，超过截止时间仍未返回的请求会被取消(中断底层请求并释放连接)并以超时异常结束，
+     * 单个请求失败不影响其他请求
+     *
+     * @param requests 请求列表
+     * @param responseType 返回数据类型, 与{@link #send(HttpRequest, ResponseType)}一致
+     * @param timeout 整批请求的截止时间
+     * @param unit 时间单位
+     * @param <T> 返回值类型, BYTE对应byte[], STRING对应String, BODY对应Map
+     * @return 与请求列表顺序一致的结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<HttpResult<T>> sendAll(List<HttpRequest> requests, ResponseType responseType, long timeout, TimeUnit unit) {
+        Executor executor = batchExecutor();
+        List<FutureTask<Object>> tasks = new ArrayList<>(requests.size());
+        List<AbortHandle> handles = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            AbortHandle handle = new AbortHandle();
+            FutureTask<Object> task = new FutureTask<>(() -> {
+                ABORT_HANDLE.set(handle);
+                try {
+                    return send(request, responseType);
+                } finally {
+                    ABORT_HANDLE.remove();
+                }
+            });
+            tasks.add(task);
+            handles.add(handle);
+            executor.execute(task);
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean interrupted = false;
+        List<HttpResult<T>> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            FutureTask<Object> task = tasks.get(i);
+            HttpRequest request = requests.get(i);
+            try {
+                if (interrupted) {
+                    throw new InterruptedException();
+                }
+                results.add(HttpResult.success(request, (T) task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)));
+            } catch (ExecutionException e) {
+                HttpException cause = e.getCause() instanceof HttpException ? (HttpException) e.getCause()
+                    : new HttpException(HttpErrorCode.ASK_SERVICE_ERROR);
+                results.add(HttpResult.failure(request, cause));
+            } catch (TimeoutException | InterruptedException e) {
+                interrupted = interrupted || e instanceof InterruptedException;
+                //阻塞的socket读写不响应中断, 需要中断底层请求才能释放线程和连接
+                handles.get(i).abort();
+                task.cancel(true);
+                logger.warn("Http batch request timeout: uri={}", request.getUri());
+                results.add(HttpResult.failure(request, new HttpException(HttpErrorCode.ASK_SEND_TIMEOUT)));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
     }
 
     /**
@@ -105,7 +365,16 @@ public class HttpClient implements HttpClientProtocol {
      * @throws HttpException HttpException
      */
     public Object send(HttpRequest request, ResponseType responseType) throws HttpException {
-        Stopwatch stopwatch = Stopwatch.createStarted();
+        HttpResponseCache cache = responseCache;
+        if (request.getMethodType() == MethodType.GET && null == request.getPreHandleResponse()) {
+            if (singleFlight) {
+                return toResult(fetchSingleFlight(request, cache), responseType);
+            }
+            if (cache != null) {
+                return toResult(fetch(request, requestKey(request), cache), responseType);
+            }
+        }
+        HttpMetrics.Sample sample = metrics.begin(request.getUri());
         CloseableHttpResponse httpResponse = null;
         //返回值处理
         try {
@@ -118,55 +387,270 @@ public class HttpClient implements HttpClientProtocol {
                     return getResponseStr(request, httpResponse);
                 }
                 case BODY: {
-                    String responseStr = getResponseStr(request, httpResponse);
-                    Map<String, String> response = new HashMap<>(8);
-                    Map<String, String> map = null;
-                    try {
-                        if (StringUtil.isNotBlank(responseStr)) {
-                            if (responseStr.startsWith("{") || responseStr.startsWith("[")) {
-                                map = MapUtil.jsonToMap(responseStr);
-                            }
-                        }
-                    } catch (Throwable e) {
-                        logger.error("Parse response str: [{}] to json failed..", responseStr, e);
-                    }
-                    if (MapUtil.isNotEmpty(map)) {
-                        response.putAll(map);
-                    } else {
-                        response.put("response", responseStr);
-                    }
-                    return response;
+                    return getResponseMap(request, httpResponse);
                 }
                 default:
                     throw new HttpException(HttpErrorCode.PARAM_TYPE_NOT_SUPPORT);
             }
         } catch (HttpException e) {
+            sample.fail(e.getErrorCode());
             throw e;
         } catch (Exception e) {
             logger.error("Handle the response content error, error={}", e);
+            sample.fail(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR.getCode());
             throw new HttpException(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR);
         } finally {
-            if (null != httpResponse) {
+            closeResponse(request, httpResponse, sample);
+        }
+    }
+
+    /**
+     * 获取GET请求的响应内容, 开启缓存时优先使用缓存, 缓存过期时带上校验头重新请求
+     */
+    private HttpResponseCache.Entry fetch(HttpRequest request, String key, HttpResponseCache cache) throws HttpException {
+        HttpResponseCache.Entry cached = cache == null ? null : cache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cached;
+        }
+        HttpMetrics.Sample sample = metrics.begin(request.getUri());
+        CloseableHttpResponse httpResponse = null;
+        try {
+            boolean revalidate = cached != null && cached.canRevalidate();
+            httpResponse = doHttpExecute(revalidate ? conditionalRequest(request, cached) : request, revalidate);
+            if (cache == null) {
+                return new HttpResponseCache.Entry(EntityUtils.toByteArray(httpResponse.getEntity()), charsetOf(httpResponse.getEntity()), null, null, 0);
+            }
+            if (httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                return cache.revalidated(key, cached, httpResponse);
+            }
+            return cache.store(key, httpResponse, EntityUtils.toByteArray(httpResponse.getEntity()));
+        } catch (HttpException e) {
+            sample.fail(e.getErrorCode());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Handle the response content error, error={}", e);
+            sample.fail(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR.getCode());
+            throw new HttpException(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR);
+        } finally {
+            closeResponse(request, httpResponse, sample);
+        }
+    }
+
+    /**
+     * 相同的GET请求并发时只有第一个请求真正发出, 其他请求等待并共享它的响应内容.
+     * 第一个请求因为自己的调用方超时(见{@link #sendAll(List, ResponseType, long, TimeUnit)})被中断时,
+     * 等待的请求不会拿到它的错误, 而是重新发起, 其中一个成为新的第一个请求
+     */
+    private HttpResponseCache.Entry fetchSingleFlight(HttpRequest request, HttpResponseCache cache) throws HttpException {
+        String key = requestKey(request);
+        while (true) {
+            CompletableFuture<HttpResponseCache.Entry> flight = new CompletableFuture<>();
+            CompletableFuture<HttpResponseCache.Entry> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
                 try {
-                    httpResponse.close();
-                } catch (IOException e) {
-                    logger.warn("Close the response error", e);
+                    return leader.get();
+                } catch (CancellationException e) {
+                    //第一个请求被它的调用方中断, 重新发起
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HttpException(HttpErrorCode.ASK_SEND_TIMEOUT);
+                } catch (ExecutionException e) {
+                    //异常对象可修改, 每个调用方拿到各自的副本
+                    HttpException cause = (HttpException) e.getCause();
+                    throw new HttpException(cause.getRequestId(), cause.getErrorCode(), cause.getErrorMsg(), cause.getExtraCode(), cause.getExtraMsg());
                 }
             }
-            if (logger.isInfoEnabled()) {
-                logger.info("Http request response: uri={}, time={} ", request.getUri(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
+            try {
+                HttpResponseCache.Entry entry = fetch(request, key, cache);
+                flight.complete(entry);
+                return entry;
+            } catch (HttpException e) {
+                if (isAborted()) {
+                    inFlight.remove(key, flight);
+                    flight.cancel(false);
+                } else {
+                    flight.completeExceptionally(e);
+                }
+                throw e;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(new HttpException(HttpErrorCode.ASK_SERVICE_ERROR));
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * 缓存和合并请求的键: uri、请求参数和请求头都相同才视为相同的请求, 带不同Authorization等请求头的调用方不会共用响应
+     */
+    private static String requestKey(HttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getUri()).append(ParamsUtil.getParamsString(request.getParamsMap()));
+        if (null != request.getHeaders()) {
+            for (Header header : request.getHeaders()) {
+                key.append('\n').append(header.getName()).append(':').append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 复制请求并加上缓存校验头
+     */
+    private HttpRequest conditionalRequest(HttpRequest request, HttpResponseCache.Entry cached) {
+        List<Header> headers = request.getHeaders() == null ? new ArrayList<>() : new ArrayList<>(request.getHeaders());
+        if (cached.etag != null) {
+            headers.add(new BasicHeader(HttpHeaders.IF_NONE_MATCH, cached.etag));
+        }
+        if (cached.lastModified != null) {
+            headers.add(new BasicHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified));
+        }
+        HttpRequest conditional = new HttpRequest(request.getUri(), request.getMethodType(), headers, request.getParamType(),
+            request.getParamsMap(), request.getBodyText());
+        conditional.setConnectTimeout(request.getConnectTimeout());
+        conditional.setSocketTimeout(request.getSocketTimeout());
+        return conditional;
+    }
+
+    /**
+     * 把缓存内容转换为返回结果, 每次返回新的对象, 调用方修改结果不影响缓存
+     */
+    private static Object toResult(HttpResponseCache.Entry entry, ResponseType responseType) throws HttpException {
+        switch (responseType) {
+            case BYTE:
+                return entry.body.clone();
+            case STRING:
+                return new String(entry.body, entry.charset);
+            case BODY:
+                return toBodyMap(entry.body, entry.charset);
+            default:
+                throw new HttpException(HttpErrorCode.PARAM_TYPE_NOT_SUPPORT);
+        }
+    }
+
+    /**
+     * 发送报文并以流的方式处理响应内容, 响应内容不会整体读入内存, 适合下载大文件.
+     * <p>
+     * 处理器读完响应内容时连接归还连接池, 未读完就返回时连接会被关闭;
+     * 设置的{@link com.github.hinsteny.commons.warp.http.protocol.PreHandleResponse}不生效
+     * </p>
+     *
+     * @param request 请求
+     * @param handler 响应内容处理器
+     * @param <T> 处理结果类型
+     * @return 处理结果
+     * @throws HttpException HttpException
+     */
+    public <T> T sendForStream(HttpRequest request, ResponseStreamHandler<T> handler) throws HttpException {
+        HttpMetrics.Sample sample = metrics.begin(request.getUri());
+        CloseableHttpResponse httpResponse = null;
+        try {
+            httpResponse = doHttpExecute(request);
+            HttpEntity entity = httpResponse.getEntity();
+            InputStream content = entity == null ? InputStream.nullInputStream() : entity.getContent();
+            return handler.handle(content, charsetOf(entity));
+        } catch (HttpException e) {
+            sample.fail(e.getErrorCode());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Handle the response content error, error={}", e);
+            sample.fail(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR.getCode());
+            throw new HttpException(HttpErrorCode.HANDLE_RESPONSE_CONTENT_ERROR);
+        } finally {
+            closeResponse(request, httpResponse, sample);
+        }
+    }
+
+    /**
+     * 发送报文并把json响应直接从响应流解析为指定类型, 不生成中间字符串
+     *
+     * @param request 请求
+     * @param type 结果类型, 泛型类型可以通过{@link com.alibaba.fastjson.TypeReference#getType()}获取
+     * @param <T> 结果类型
+     * @return 解析结果, 响应为空时为null
+     * @throws HttpException HttpException
+     */
+    public <T> T sendForObject(HttpRequest request, Type type) throws HttpException {
+        return sendForStream(request, (content, charset) -> JSON.parseObject(content, charset, type));
+    }
+
+    /**
+     * 发送报文并把响应内容写入文件, 先写入同目录下的临时文件, 完成后再替换目标文件
+     *
+     * @param request 请求
+     * @param target 目标文件
+     * @return 写入的字节数
+     * @throws HttpException HttpException
+     */
+    public long sendToFile(HttpRequest request, Path target) throws HttpException {
+        return sendForStream(request, (content, charset) -> {
+            Path temp = target.resolveSibling(target.getFileName() + ".part");
+            try {
+                long size = Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                return size;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        });
+    }
+
+    /**
+     * 发送报文并把响应内容按csv逐行解析, 解析使用响应声明的字符集, 未声明时为UTF-8
+     *
+     * @param request 请求
+     * @param format csv格式
+     * @param consumer 每行记录的处理器
+     * @return 处理的记录数
+     * @throws HttpException HttpException
+     */
+    public long sendForCSV(HttpRequest request, CSVFormat format, Consumer<ReadableCSVLine> consumer) throws HttpException {
+        return sendForStream(request, (content, charset) -> {
+            CSVReader reader = new CSVReader(content, charset, format);
+            long records = 0;
+            ReadableCSVLine line;
+            while ((line = reader.nextCSVLine()) != null) {
+                consumer.accept(line);
+                records++;
+            }
+            return records;
+        });
+    }
+
+    private void closeResponse(HttpRequest request, CloseableHttpResponse httpResponse, HttpMetrics.Sample sample) {
+        closeQuietly(httpResponse);
+        long latency = sample.end();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Http request response: uri={}, time={} ", request.getUri(), TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+    }
+
+    private void closeQuietly(CloseableHttpResponse httpResponse) {
+        if (null != httpResponse) {
+            try {
+                httpResponse.close();
+            } catch (IOException e) {
+                logger.warn("Close the response error", e);
             }
         }
     }
 
     private CloseableHttpResponse doHttpExecute(HttpRequest request) throws HttpException {
+        return doHttpExecute(request, false);
+    }
+
+    /**
+     * @param notModifiedAllowed 是否接受304(缓存校验请求)
+     */
+    private CloseableHttpResponse doHttpExecute(HttpRequest request, boolean notModifiedAllowed) throws HttpException {
         //设置超时时间，如果request没设置超时时间，取profile里的
-        int socketTimeout = request.getSocketTimeout() > 0 ? request.getSocketTimeout() : CONNECT_TIME_OUT;
-        int connectTimeout = request.getConnectTimeout() > 0 ? request.getConnectTimeout() : SOCKET_TIME_OUT;
-        RequestConfig config = RequestConfig.custom().setSocketTimeout(socketTimeout).setConnectTimeout(connectTimeout).build();
+        int socketTimeout = request.getSocketTimeout() > 0 ? request.getSocketTimeout() : defaultConfig.getSocketTimeout();
+        int connectTimeout = request.getConnectTimeout() > 0 ? request.getConnectTimeout() : defaultConfig.getConnectTimeout();
+        RequestConfig config = RequestConfig.copy(defaultConfig).setSocketTimeout(socketTimeout).setConnectTimeout(connectTimeout).build();
 
-        if (logger.isInfoEnabled()) {
-            logger.info("Http request params: uri=[{}], headers=[{}], params=[{}], body=[{}]", request.getUri(), JSONArray.toJSONString(request.getHeaders()),
+        if (logger.isDebugEnabled()) {
+            logger.debug("Http request params: uri=[{}], headers=[{}], params=[{}], body=[{}]", request.getUri(), JSONArray.toJSONString(request.getHeaders()),
                 SensitiveUtil.toJson(request.getParamsMap()), request.getBodyText());
         }
         //请求调用
@@ -179,7 +663,16 @@ public class HttpClient implements HttpClientProtocol {
             throw new HttpException(HttpErrorCode.CHECK_REQUEST_ERROR);
         }
         //校验http状态码
-        checkHttpStatus(httpResponse);
+        if (notModifiedAllowed && httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            return httpResponse;
+        }
+        try {
+            checkHttpStatus(httpResponse);
+        } catch (HttpException e) {
+            //状态码异常时调用方拿不到响应, 在这里释放连接
+            closeQuietly(httpResponse);
+            throw e;
+        }
         return httpResponse;
     }
 
@@ -200,6 +693,7 @@ public class HttpClient implements HttpClientProtocol {
         }
         CloseableHttpResponse response;
         try {
+            attachAbortHandle(httpGet);
             response = httpClients.execute(httpGet);
         } catch (IOException e) {
             logger.error("Send http request IOException, error={}", e);
@@ -249,8 +743,8 @@ public class HttpClient implements HttpClientProtocol {
                 String postUrl;
                 try {
                     postUrl = String.format("%s?%s", request.getUri(), URLEncoder.encode(request.getBodyText(), "UTF-8"));
-                    if (logger.isInfoEnabled()) {
-                        logger.info("Http request post-url: [{}]", postUrl);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Http request post-url: [{}]", postUrl);
                     }
                 } catch (UnsupportedEncodingException e) {
                     throw new HttpException(HttpErrorCode.PARAM_URLENCODE_ERROR);
@@ -263,6 +757,7 @@ public class HttpClient implements HttpClientProtocol {
 
         //调用Post方法
         try {
+            attachAbortHandle(httpPost);
             response = httpClients.execute(httpPost);
         } catch (IOException e) {
             logger.error("Send http request IOException, error={}", e);
@@ -283,7 +778,7 @@ public class HttpClient implements HttpClientProtocol {
         }
         int status = httpResponse.getStatusLine().getStatusCode();
 
-        logger.info("Http Status is {}", status);
+        logger.debug("Http Status is {}", status);
         if (status != HTTP_STATUS_200 && status != HTTP_STATUS_302) {
             throw new HttpException(HttpErrorCode.ASK_RESPONSE_INVALID);
         }
@@ -312,12 +807,101 @@ public class HttpClient implements HttpClientProtocol {
             responseStr = request.getPreHandleResponse().preHandle(httpResponse);
         } else {
             byte[] array = EntityUtils.toByteArray(httpResponse.getEntity());
-            responseStr = new String(array);
+            responseStr = new String(array, charsetOf(httpResponse.getEntity()));
         }
 
         return responseStr;
     }
 
+    /**
+     * 获取服务端返回结果并转换为map
+     */
+    private Map<String, String> getResponseMap(HttpRequest request, HttpResponse httpResponse) throws Exception {
+        if (null != request.getPreHandleResponse()) {
+            return toBodyMap(request.getPreHandleResponse().preHandle(httpResponse));
+        }
+        return toBodyMap(EntityUtils.toByteArray(httpResponse.getEntity()), charsetOf(httpResponse.getEntity()));
+    }
+
+    /**
+     * 获取响应内容声明的字符集, 未声明或不支持时为UTF-8
+     */
+    static Charset charsetOf(HttpEntity entity) {
+        if (entity == null || entity.getContentType() == null) {
+            return StandardCharsets.UTF_8;
+        }
+        return charsetOf(entity.getContentType().getValue());
+    }
+
+    /**
+     * 获取Content-Type声明的字符集, 未声明或不支持时为UTF-8
+     */
+    static Charset charsetOf(String contentType) {
+        if (StringUtil.isNotBlank(contentType)) {
+            try {
+                Charset charset = ContentType.parse(contentType).getCharset();
+                if (charset != null) {
+                    return charset;
+                }
+            } catch (ParseException | UnsupportedCharsetException e) {
+                logger.warn("Unsupported response content type: {}", contentType);
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 把返回结果转换为map, json对象直接展开, 其他内容放在response键下
+     *
+     * @param responseStr 返回结果
+     * @return 结果map
+     */
+    static Map<String, String> toBodyMap(String responseStr) {
+        Map<String, String> response = new HashMap<>(8);
+        Map<String, String> map = null;
+        try {
+            if (StringUtil.isNotBlank(responseStr)) {
+                if (responseStr.startsWith("{") || responseStr.startsWith("[")) {
+                    map = MapUtil.jsonToMap(responseStr);
+                }
+            }
+        } catch (Throwable e) {
+            logger.error("Parse response str: [{}] to json failed..", responseStr, e);
+        }
+        if (MapUtil.isNotEmpty(map)) {
+            response.putAll(map);
+        } else {
+            response.put("response", responseStr);
+        }
+        return response;
+    }
+
+    /**
+     * 把返回结果转换为map, 规则与{@link #toBodyMap(String)}一致;
+     * json对象直接从字节解析为结果map, 不生成中间字符串, 也不再复制一次
+     *
+     * @param content 返回内容
+     * @param charset 字符集
+     * @return 结果map
+     */
+    static Map<String, String> toBodyMap(byte[] content, Charset charset) {
+        if (content == null || content.length == 0 || content[0] != '{') {
+            return toBodyMap(content == null ? null : new String(content, charset));
+        }
+        Map<String, String> map = null;
+        try {
+            map = JSON.parseObject(content, 0, content.length, charset, BODY_MAP_TYPE);
+        } catch (Throwable e) {
+            logger.error("Parse response to json failed..", e);
+        }
+        if (MapUtil.isNotEmpty(map)) {
+            return map;
+        }
+        Map<String, String> response = new HashMap<>(8);
+        response.put("response", new String(content, charset));
+        return response;
+    }
+
     private void buildPairByMap(List<NameValuePair> pairList, Map<String, String> paramsMap) {
         if (paramsMap != null && !paramsMap.isEmpty()) {
             for (Map.Entry<String, String> entry : paramsMap.entrySet()) {
@@ -327,4 +911,65 @@ public class HttpClient implements HttpClientProtocol {
         }
     }
 
+    /**
+     * 关闭底层client, 释放连接池
+     */
+    public void close() {
+        ExecutorService defaultExecutor = defaultBatchExecutor;
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdownNow();
+        }
+        try {
+            httpClients.close();
+        } catch (IOException e) {
+            logger.warn("Close the http client error", e);
+        }
+    }
+
+    /**
+     * 批量请求中, 把底层请求交给当前任务的中断句柄
+     */
+    private static void attachAbortHandle(HttpRequestBase httpRequest) {
+        AbortHandle handle = ABORT_HANDLE.get();
+        if (handle != null) {
+            handle.attach(httpRequest);
+        }
+    }
+
+    /**
+     * 批量请求中单个请求的中断句柄, 中断后再关联的请求会被立即中断
+     */
+    /**
+     * 当前线程的请求是否已被{@link #sendAll(List, ResponseType, long, TimeUnit)}超时中断
+     */
+    private static boolean isAborted() {
+        AbortHandle handle = ABORT_HANDLE.get();
+        return handle != null && handle.isAborted();
+    }
+
+    private static class AbortHandle {
+
+        private HttpRequestBase request;
+
+        private boolean aborted;
+
+        synchronized void attach(HttpRequestBase httpRequest) {
+            request = httpRequest;
+            if (aborted) {
+                httpRequest.abort();
+            }
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            if (request != null) {
+                request.abort();
+            }
+        }
+    }
+
 }
@@ -0,0 +1,266 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.http.HttpHost;
+
+/**
+ * http client的连接池配置.
+ * <p>
+ * 每个配置通过{@link HttpClientsInstance#register(HttpClientProfile)}注册后拥有独立的连接池，
+ * 响应慢的下游单独使用一个配置，就不会耗尽其他下游的连接
+ * </p>
+ * <pre>
+ *     HttpClientProfile profile = HttpClientProfile.builder("partner")
+ *         .maxTotal(50)
+ *         .maxPerRoute("https://api.partner.com", 20)
+ *         .connectionRequestTimeout(500)
+ *         .timeToLive(60000)
+ *         .evictIdleTime(30000)
+ *         .build();
+ *     HttpClientsInstance.INSTANCE.register(profile);
+ *     HttpClient client = HttpClientsInstance.INSTANCE.getInstance("partner");
+ * </pre>
+ * 设置{@link Builder#http2(boolean)}后注册的是{@link Http2Client}, 通过{@link HttpClientsInstance#getProtocol(String)}获取,
+ * 调用方不需要修改请求代码
+ *
+ * @author Hinsteny
+ * @version HttpClientProfile: 2026-10-18 18:30 All rights reserved.$
+ */
+public class HttpClientProfile {
+
+    /**
+     * 默认配置的名称
+     */
+    public static final String DEFAULT_NAME = "default";
+
+    /**
+     * 默认配置, 与原来的单例client保持一致
+     */
+    public static final HttpClientProfile DEFAULT = builder(DEFAULT_NAME).build();
+
+    private final String name;
+
+    /**
+     * 最大连接数
+     */
+    private final int maxTotal;
+
+    /**
+     * 默认每个路由(同一主机)的最大连接数
+     */
+    private final int defaultMaxPerRoute;
+
+    /**
+     * 指定路由的最大连接数
+     */
+    private final Map<HttpHost, Integer> maxPerRoute;
+
+    /**
+     * 连接超时时间(毫秒)
+     */
+    private final int connectTimeout;
+
+    /**
+     * 读取超时时间(毫秒)
+     */
+    private final int socketTimeout;
+
+    /**
+     * 从连接池获取连接的超时时间(毫秒), 小于0时一直等待
+     */
+    private final int connectionRequestTimeout;
+
+    /**
+     * 连接的最长存活时间(毫秒), 小于等于0时不限制
+     */
+    private final long timeToLive;
+
+    /**
+     * 空闲超过该时间(毫秒)的连接由后台线程关闭, 小于等于0时不清理
+     */
+    private final long evictIdleTime;
+
+    /**
+     * 连接空闲超过该时间(毫秒)后, 再次使用前先校验连接是否可用, 小于等于0时不校验
+     */
+    private final int validateAfterInactivity;
+
+    /**
+     * 是否使用HTTP/2, 使用HTTP/2时连接池相关配置不生效, 同一主机的请求复用一个连接
+     */
+    private final boolean http2;
+
+    private HttpClientProfile(Builder builder) {
+        this.name = builder.name;
+        this.maxTotal = builder.maxTotal;
+        this.defaultMaxPerRoute = builder.defaultMaxPerRoute;
+        this.maxPerRoute = Collections.unmodifiableMap(new LinkedHashMap<>(builder.maxPerRoute));
+        this.connectTimeout = builder.connectTimeout;
+        this.socketTimeout = builder.socketTimeout;
+        this.connectionRequestTimeout = builder.connectionRequestTimeout;
+        this.timeToLive = builder.timeToLive;
+        this.evictIdleTime = builder.evictIdleTime;
+        this.validateAfterInactivity = builder.validateAfterInactivity;
+        this.http2 = builder.http2;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getDefaultMaxPerRoute() {
+        return defaultMaxPerRoute;
+    }
+
+    public Map<HttpHost, Integer> getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public long getEvictIdleTime() {
+        return evictIdleTime;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * 连接池配置构建器, 每次{@link #build()}都生成新的配置, 之后修改builder不影响已生成的配置
+     */
+    public static class Builder {
+
+        private final String name;
+
+        private int maxTotal = 200;
+
+        private int defaultMaxPerRoute = 200;
+
+        private final Map<HttpHost, Integer> maxPerRoute = new LinkedHashMap<>();
+
+        private int connectTimeout = 10000;
+
+        private int socketTimeout = 10000;
+
+        private int connectionRequestTimeout = -1;
+
+        private long timeToLive = -1;
+
+        private long evictIdleTime = -1;
+
+        private int validateAfterInactivity = 2000;
+
+        private boolean http2 = false;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        public Builder defaultMaxPerRoute(int defaultMaxPerRoute) {
+            this.defaultMaxPerRoute = defaultMaxPerRoute;
+            return this;
+        }
+
+        /**
+         * 设置指定主机的最大连接数
+         *
+         * @param uri 主机地址, 如https://api.partner.com或api.partner.com:8080, 未指定协议时为http
+         * @param max 最大连接数
+         * @return builder
+         */
+        public Builder maxPerRoute(String uri, int max) {
+            HttpHost host = HttpHost.create(uri);
+            int port = host.getPort();
+            if (port < 0) {
+                port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+            }
+            maxPerRoute.put(new HttpHost(host.getHostName(), port, host.getSchemeName()), max);
+            return this;
+        }
+
+        public Builder connectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder socketTimeout(int socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        public Builder connectionRequestTimeout(int connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
+        public Builder timeToLive(long timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder evictIdleTime(long evictIdleTime) {
+            this.evictIdleTime = evictIdleTime;
+            return this;
+        }
+
+        public Builder validateAfterInactivity(int validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        public HttpClientProfile build() {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("profile name can't be empty");
+            }
+            if (maxTotal <= 0 || defaultMaxPerRoute <= 0) {
+                throw new IllegalArgumentException("max connections must greater than zero");
+            }
+            for (Map.Entry<HttpHost, Integer> entry : maxPerRoute.entrySet()) {
+                if (entry.getValue() <= 0) {
+                    throw new IllegalArgumentException("max connections of route " + entry.getKey() + " must greater than zero");
+                }
+            }
+            return new HttpClientProfile(this);
+        }
+    }
+
+}
@@ -1,22 +1,36 @@
 package com.github.hinsteny.commons.warp.http.client;
 
+import com.github.hinsteny.commons.warp.http.protocol.HttpClientProtocol;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
-import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 /**
  * HttpClient的单例类.
+ * <p>
+ * {@link #getInstance()}返回使用{@link HttpClientProfile#DEFAULT}配置的client，需要隔离连接池的下游
+ * 通过{@link #register(HttpClientProfile)}注册独立的配置
+ * </p>
  *
  * @author Hinsteny
  * @version HttpClientsInstance: 2019-08-12 16:25 All rights reserved.$
@@ -29,17 +43,19 @@ public enum HttpClientsInstance {
     INSTANCE;
 
     /**
-     * 默认最大连接数
+     * 默认连接超时时间
      */
-    private static final int DEFAULT_MAX_TOTAL = 200;
+    private static final int DEFAULT_CONNECT_TIME_OUT = 10000;
 
-    /**
-     * 默认最大连接数(同一主机)
-     */
-    private static final int DEFAULT_MAX_PRE_TOTAL = 200;
+    private Registry<ConnectionSocketFactory> socketFactoryRegistry;
 
     private HttpClient httpClient;
 
+    /**
+     * 按名称注册的client
+     */
+    private final Map<String, HttpClientProtocol> profileClients = new ConcurrentHashMap<>();
+
     /**
      * 获取枚举单例实例
      *
@@ -49,25 +65,143 @@ public enum HttpClientsInstance {
         return httpClient;
     }
 
+    /**
+     * 获取按名称注册的client
+     *
+     * @param name 配置名称, {@link HttpClientProfile#DEFAULT_NAME}对应默认client
+     * @return client
+     */
+    public HttpClient getInstance(String name) {
+        HttpClientProtocol client = getProtocol(name);
+        if (!(client instanceof HttpClient)) {
+            throw new IllegalArgumentException("http client profile " + name + " is not a http/1.1 profile");
+        }
+        return (HttpClient) client;
+    }
+
+    /**
+     * 获取按名称注册的client, 按配置可能是{@link HttpClient}或{@link Http2Client}
+     *
+     * @param name 配置名称
+     * @return client
+     */
+    public HttpClientProtocol getProtocol(String name) {
+        HttpClientProtocol client = profileClients.get(name);
+        if (client == null) {
+            throw new IllegalArgumentException("http client profile " + name + " not registered");
+        }
+        return client;
+    }
+
+    /**
+     * 获取异步client单例实例, 第一次调用时才创建, 只使用同步client时不会启动异步client的选择器线程
+     *
+     * @return 异步client
+     */
+    public AsyncHttpClient getAsyncInstance() {
+        return AsyncClientHolder.ASYNC_CLIENT;
+    }
+
+    /**
+     * 按配置创建client并以配置名称注册, 使用HTTP/1.1时每个配置拥有独立的连接池
+     *
+     * @param profile 配置
+     * @return client, 按配置是{@link HttpClient}或{@link Http2Client}
+     */
+    public HttpClientProtocol register(HttpClientProfile profile) {
+        if (profileClients.containsKey(profile.getName())) {
+            throw new IllegalArgumentException("http client profile " + profile.getName() + " already registered");
+        }
+        HttpClientProtocol client = profile.isHttp2() ? createHttp2Client(profile) : createHttpClient(profile);
+        if (profileClients.putIfAbsent(profile.getName(), client) != null) {
+            if (client instanceof HttpClient) {
+                ((HttpClient) client).close();
+            }
+            throw new IllegalArgumentException("http client profile " + profile.getName() + " already registered");
+        }
+        return client;
+    }
+
     /**
      * 构造函数内进行初始化, 保证线程安全
      */
     HttpClientsInstance() {
-        Registry<ConnectionSocketFactory> socketFactoryRegistry;
         try {
             socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
                 .register("http", PlainConnectionSocketFactory.INSTANCE)
                 .register("https", new SSLConnectionSocketFactory(createIgnoreVerifySSL()))
                 .build();
-            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+            httpClient = (HttpClient) register(HttpClientProfile.DEFAULT);
+        } catch (NoSuchAlgorithmException | KeyManagementException e) {
+            throw new RuntimeException("初始化httpclient出错...");
+        }
+    }
 
-            connectionManager.setMaxTotal(DEFAULT_MAX_TOTAL);
-            connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_PRE_TOTAL);
+    /**
+     * 按配置创建连接池和client
+     */
+    private HttpClient createHttpClient(HttpClientProfile profile) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, null, null, null,
+            profile.getTimeToLive(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(profile.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(profile.getDefaultMaxPerRoute());
+        for (Map.Entry<HttpHost, Integer> entry : profile.getMaxPerRoute().entrySet()) {
+            HttpHost host = entry.getKey();
+            connectionManager.setMaxPerRoute(new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName())), entry.getValue());
+        }
+        if (profile.getValidateAfterInactivity() > 0) {
+            connectionManager.setValidateAfterInactivity(profile.getValidateAfterInactivity());
+        }
+
+        HttpClientBuilder builder = HttpClients.custom().setConnectionManager(connectionManager);
+        if (profile.getEvictIdleTime() > 0) {
+            //后台线程定期关闭空闲和过期的连接
+            builder.evictIdleConnections(profile.getEvictIdleTime(), TimeUnit.MILLISECONDS).evictExpiredConnections();
+        }
+        RequestConfig defaultConfig = RequestConfig.custom()
+            .setConnectTimeout(profile.getConnectTimeout())
+            .setSocketTimeout(profile.getSocketTimeout())
+            .setConnectionRequestTimeout(profile.getConnectionRequestTimeout())
+            .build();
+        return new HttpClient(builder.setDefaultRequestConfig(defaultConfig).build(), defaultConfig, connectionManager);
+    }
 
-            CloseableHttpClient httpClients = HttpClients.custom().setConnectionManager(connectionManager).build();
-            httpClient = new HttpClient(httpClients);
+    /**
+     * 按配置创建HTTP/2 client
+     */
+    private Http2Client createHttp2Client(HttpClientProfile profile) {
+        try {
+            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
+                .version(Version.HTTP_2)
+                .sslContext(createIgnoreVerifySSL())
+                .connectTimeout(Duration.ofMillis(profile.getConnectTimeout()))
+                .followRedirects(Redirect.NEVER)
+                .build();
+            return new Http2Client(client, profile.getSocketTimeout());
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
-            throw new RuntimeException("初始化httpclient出错...");
+            throw new IllegalStateException("初始化http2 client出错...", e);
+        }
+    }
+
+    /**
+     * 异步client在第一次使用时由类加载保证只创建一次
+     */
+    private static class AsyncClientHolder {
+
+        private static final AsyncHttpClient ASYNC_CLIENT = createAsyncClient();
+
+        private static AsyncHttpClient createAsyncClient() {
+            try {
+                //与同步client一致: 忽略SSL校验, 不自动跟随重定向
+                java.net.http.HttpClient asyncClient = java.net.http.HttpClient.newBuilder()
+                    .sslContext(createIgnoreVerifySSL())
+                    .connectTimeout(Duration.ofMillis(DEFAULT_CONNECT_TIME_OUT))
+                    .followRedirects(Redirect.NEVER)
+                    .build();
+                return new AsyncHttpClient(asyncClient);
+            } catch (NoSuchAlgorithmException | KeyManagementException e) {
+                throw new IllegalStateException("初始化异步httpclient出错...", e);
+            }
         }
     }
 
@@ -78,7 +212,7 @@ public enum HttpClientsInstance {
      * @throws NoSuchAlgorithmException
      * @throws KeyManagementException
      */
-    private SSLContext createIgnoreVerifySSL() throws NoSuchAlgorithmException, KeyManagementException {
+    private static SSLContext createIgnoreVerifySSL() throws NoSuchAlgorithmException, KeyManagementException {
         SSLContext sc = SSLContext.getInstance("SSL");
         // 实现一个X509TrustManager接口，用于绕过验证，不用修改里面的方法
         X509TrustManager trustManager = new X509TrustManager() {
@@ -0,0 +1,253 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+
+/**
+ * GET请求的响应缓存, 按条目数和总字节数限制大小, 超出时淘汰最久未使用的条目.
+ * <p>
+ * 通过{@link HttpClient#setResponseCache(HttpResponseCache)}启用, 遵循响应的缓存头:
+ * </p>
+ * <ul>
+ * <li>Cache-Control: no-store不缓存, max-age内直接使用缓存, no-cache或max-age过期后需要重新校验</li>
+ * <li>ETag/Last-Modified: 过期后带上If-None-Match/If-Modified-Since重新校验, 服务端返回304时继续使用缓存内容</li>
+ * <li>只缓存状态码为200的响应, 既没有max-age也没有ETag/Last-Modified的响应不缓存</li>
+ * <li>缓存由使用同一个client的所有调用方共享, Cache-Control: private或Vary: *的响应不缓存</li>
+ * </ul>
+ * 缓存键为uri、请求参数和请求头, 请求头不同(例如不同调用方的Authorization)时不会命中其他调用方的缓存
+ *
+ * @author Hinsteny
+ * @version HttpResponseCache: 2026-10-18 21:00 All rights reserved.$
+ */
+public class HttpResponseCache {
+
+    private static final String NO_STORE = "no-store";
+
+    private static final String NO_CACHE = "no-cache";
+
+    private static final String PRIVATE = "private";
+
+    private static final String VARY_ALL = "*";
+
+    private static final String MAX_AGE = "max-age";
+
+    /**
+     * 最大条目数
+     */
+    private final int maxEntries;
+
+    /**
+     * 最大总字节数
+     */
+    private final long maxBytes;
+
+    /**
+     * 当前缓存的总字节数
+     */
+    private long bytes;
+
+    /**
+     * 按访问顺序排列的缓存条目
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxEntries 最大条目数
+     * @param maxBytes 最大总字节数, 超过该大小的单个响应不缓存
+     */
+    public HttpResponseCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("cache size must greater than zero");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 当前缓存的条目数
+     *
+     * @return 条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 当前缓存的总字节数
+     *
+     * @return 字节数
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 按响应的缓存头缓存响应内容
+     *
+     * @return 响应内容对应的条目, 不可缓存时也会返回, 但不放入缓存
+     */
+    Entry store(String key, HttpResponse response, byte[] body) {
+        CacheControl control = CacheControl.of(response);
+        Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        Entry entry = new Entry(body, HttpClient.charsetOf(response.getEntity()), etag == null ? null : etag.getValue(),
+            lastModified == null ? null : lastModified.getValue(), control.maxAge);
+        boolean cacheable = response.getStatusLine().getStatusCode() == HttpStatus.SC_OK && !control.noStore && !varyAll(response)
+            && (control.maxAge > 0 || entry.etag != null || entry.lastModified != null);
+        synchronized (this) {
+            remove(key);
+            if (cacheable && body.length <= maxBytes) {
+                entries.put(key, entry);
+                bytes += body.length;
+                evict();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 服务端返回304后刷新条目的有效期
+     *
+     * @return 刷新后的条目
+     */
+    Entry revalidated(String key, Entry cached, HttpResponse response) {
+        CacheControl control = CacheControl.of(response);
+        Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+        Entry entry = new Entry(cached.body, cached.charset, etag == null ? cached.etag : etag.getValue(), cached.lastModified,
+            control.present ? control.maxAge : cached.maxAge);
+        synchronized (this) {
+            if (entries.get(key) == cached) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static boolean varyAll(HttpResponse response) {
+        for (Header header : response.getHeaders(HttpHeaders.VARY)) {
+            for (HeaderElement element : header.getElements()) {
+                if (VARY_ALL.equals(element.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.body.length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().body.length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 响应内容和缓存信息, 创建后不再修改
+     */
+    static class Entry {
+
+        final byte[] body;
+
+        final Charset charset;
+
+        final String etag;
+
+        final String lastModified;
+
+        /**
+         * 有效期(秒)
+         */
+        final long maxAge;
+
+        /**
+         * 过期时间(System.nanoTime)
+         */
+        final long expiresAt;
+
+        Entry(byte[] body, Charset charset, String etag, String lastModified, long maxAge) {
+            this.body = body;
+            this.charset = charset;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.maxAge = maxAge;
+            this.expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(maxAge, 0));
+        }
+
+        boolean isFresh() {
+            return maxAge > 0 && System.nanoTime() - expiresAt < 0;
+        }
+
+        boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    /**
+     * 响应的Cache-Control指令
+     */
+    private static class CacheControl {
+
+        boolean present;
+
+        boolean noStore;
+
+        long maxAge;
+
+        static CacheControl of(HttpResponse response) {
+            CacheControl control = new CacheControl();
+            boolean noCache = false;
+            for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+                control.present = true;
+                for (HeaderElement element : header.getElements()) {
+                    String name = element.getName().toLowerCase(Locale.ROOT);
+                    if (NO_STORE.equals(name) || PRIVATE.equals(name)) {
+                        //private的响应只能由单个用户的缓存保存, 共享缓存中不保存
+                        control.noStore = true;
+                    } else if (NO_CACHE.equals(name)) {
+                        noCache = true;
+                    } else if (MAX_AGE.equals(name) && element.getValue() != null) {
+                        try {
+                            control.maxAge = Long.parseLong(element.getValue().trim());
+                        } catch (NumberFormatException e) {
+                            control.maxAge = 0;
+                        }
+                    }
+                }
+            }
+            if (noCache) {
+                control.maxAge = 0;
+            }
+            return control;
+        }
+    }
+
+}
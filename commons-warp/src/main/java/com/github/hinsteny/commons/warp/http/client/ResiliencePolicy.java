@@ -0,0 +1,270 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link ResilientHttpClient}的重试、对冲请求和熔断配置.
+ * <pre>
+ *     ResiliencePolicy policy = ResiliencePolicy.builder()
+ *         .maxRetries(2)
+ *         .backoff(100, 2000)
+ *         .hedge(true)
+ *         .breaker(50, 20, 10000)
+ *         .build();
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version ResiliencePolicy: 2026-10-18 19:50 All rights reserved.$
+ */
+public class ResiliencePolicy {
+
+    /**
+     * 默认配置
+     */
+    public static final ResiliencePolicy DEFAULT = builder().build();
+
+    /**
+     * GET请求失败后的最大重试次数, 0表示不重试
+     */
+    private final int maxRetries;
+
+    /**
+     * 第一次重试前的等待时间(毫秒), 之后每次翻倍
+     */
+    private final long initialBackoff;
+
+    /**
+     * 重试等待时间的上限(毫秒)
+     */
+    private final long maxBackoff;
+
+    /**
+     * 可以重试的错误码
+     */
+    private final Set<String> retryableCodes;
+
+    /**
+     * 是否对GET请求发送对冲请求
+     */
+    private final boolean hedge;
+
+    /**
+     * 对冲请求的延迟百分位, 第一个请求超过该路由最近请求耗时的这个百分位仍未返回时发送第二个请求
+     */
+    private final int hedgePercentile;
+
+    /**
+     * 样本不足时使用的对冲延迟(毫秒)
+     */
+    private final long hedgeDelay;
+
+    /**
+     * 计算百分位使用的最近请求数
+     */
+    private final int latencyWindow;
+
+    /**
+     * 失败率达到该百分比时熔断, 小于等于0时不熔断
+     */
+    private final int failureRateThreshold;
+
+    /**
+     * 统计失败率的最近请求数, 请求数不足时不熔断
+     */
+    private final int breakerWindow;
+
+    /**
+     * 熔断持续时间(毫秒), 到期后放行一个探测请求
+     */
+    private final long openDuration;
+
+    /**
+     * 计入熔断失败率的错误码
+     */
+    private final Set<String> failureCodes;
+
+    private ResiliencePolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.retryableCodes = builder.retryableCodes;
+        this.hedge = builder.hedge;
+        this.hedgePercentile = builder.hedgePercentile;
+        this.hedgeDelay = builder.hedgeDelay;
+        this.latencyWindow = builder.latencyWindow;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.breakerWindow = builder.breakerWindow;
+        this.openDuration = builder.openDuration;
+        this.failureCodes = builder.failureCodes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static Set<String> codes(HttpErrorCode... errorCodes) {
+        Set<String> codes = new HashSet<>();
+        for (HttpErrorCode errorCode : errorCodes) {
+            codes.add(errorCode.getCode());
+        }
+        return Collections.unmodifiableSet(codes);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public Set<String> getRetryableCodes() {
+        return retryableCodes;
+    }
+
+    public boolean isHedge() {
+        return hedge;
+    }
+
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public int getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getBreakerWindow() {
+        return breakerWindow;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public Set<String> getFailureCodes() {
+        return failureCodes;
+    }
+
+    /**
+     * 配置构建器, 每次{@link #build()}都生成新的配置, 之后修改builder不影响已生成的配置
+     */
+    public static class Builder {
+
+        private int maxRetries = 2;
+
+        private long initialBackoff = 100;
+
+        private long maxBackoff = 2000;
+
+        private Set<String> retryableCodes = codes(HttpErrorCode.ASK_SERVICE_ERROR);
+
+        private boolean hedge = false;
+
+        private int hedgePercentile = 95;
+
+        private long hedgeDelay = 200;
+
+        private int latencyWindow = 128;
+
+        private int failureRateThreshold = 50;
+
+        private int breakerWindow = 20;
+
+        private long openDuration = 10000;
+
+        private Set<String> failureCodes = codes(HttpErrorCode.ASK_SERVICE_ERROR, HttpErrorCode.ASK_SEND_TIMEOUT, HttpErrorCode.ASK_RESPONSE_INVALID);
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * 设置重试的指数退避时间
+         *
+         * @param initialBackoff 第一次重试前的等待时间(毫秒)
+         * @param maxBackoff 等待时间上限(毫秒)
+         * @return builder
+         */
+        public Builder backoff(long initialBackoff, long maxBackoff) {
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder retryOn(HttpErrorCode... errorCodes) {
+            this.retryableCodes = codes(errorCodes);
+            return this;
+        }
+
+        public Builder hedge(boolean hedge) {
+            this.hedge = hedge;
+            return this;
+        }
+
+        /**
+         * 设置对冲请求的延迟
+         *
+         * @param percentile 延迟百分位
+         * @param fallbackDelay 样本不足时的延迟(毫秒)
+         * @param window 计算百分位使用的最近请求数
+         * @return builder
+         */
+        public Builder hedgeDelay(int percentile, long fallbackDelay, int window) {
+            this.hedgePercentile = percentile;
+            this.hedgeDelay = fallbackDelay;
+            this.latencyWindow = window;
+            return this;
+        }
+
+        /**
+         * 设置熔断规则
+         *
+         * @param failureRateThreshold 熔断的失败率百分比, 小于等于0时不熔断
+         * @param window 统计失败率的最近请求数
+         * @param openDuration 熔断持续时间(毫秒)
+         * @return builder
+         */
+        public Builder breaker(int failureRateThreshold, int window, long openDuration) {
+            this.failureRateThreshold = failureRateThreshold;
+            this.breakerWindow = window;
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        public Builder failureOn(HttpErrorCode... errorCodes) {
+            this.failureCodes = codes(errorCodes);
+            return this;
+        }
+
+        public ResiliencePolicy build() {
+            if (maxRetries < 0 || initialBackoff < 0 || maxBackoff < initialBackoff) {
+                throw new IllegalArgumentException("invalid retry backoff config");
+            }
+            if (hedgePercentile <= 0 || hedgePercentile > 100 || hedgeDelay < 0 || latencyWindow <= 0) {
+                throw new IllegalArgumentException("invalid hedge delay config");
+            }
+            if (failureRateThreshold > 100 || breakerWindow <= 0 || openDuration <= 0) {
+                throw new IllegalArgumentException("invalid circuit breaker config");
+            }
+            return new ResiliencePolicy(this);
+        }
+    }
+
+}
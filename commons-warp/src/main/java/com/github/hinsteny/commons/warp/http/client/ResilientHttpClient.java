@@ -0,0 +1,388 @@
+package com.github.hinsteny.commons.warp.http.client;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.metrics.HttpMetrics;
+import com.github.hinsteny.commons.warp.http.metrics.LatencyHistogram;
+import com.github.hinsteny.commons.warp.http.protocol.HttpClientProtocol;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ResponseType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 为{@link HttpClient}增加重试、对冲请求和熔断的装饰器.
+ * <ul>
+ * <li>重试: 只重试幂等的GET请求, 出现{@link ResiliencePolicy#getRetryableCodes()}中的错误时按指数退避(带随机抖动)重试</li>
+ * <li>对冲: GET请求超过该路由最近请求耗时的百分位(默认p95)仍未返回时, 再发送一个相同的请求, 取先成功的结果</li>
+ * <li>熔断: 按路由(协议+主机+端口)统计最近请求的失败率, 达到阈值后直接以{@link HttpErrorCode#CIRCUIT_BREAKER_OPEN}失败,
+ * 熔断时间到期后放行一个探测请求, 探测成功后恢复</li>
+ * </ul>
+ *
+ * @author Hinsteny
+ * @version ResilientHttpClient: 2026-10-18 20:10 All rights reserved.$
+ */
+public class ResilientHttpClient implements HttpClientProtocol {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientHttpClient.class);
+
+    private final HttpClient httpClient;
+
+    private final ResiliencePolicy policy;
+
+    /**
+     * 执行对冲请求的执行器
+     */
+    private final Executor executor;
+
+    /**
+     * 每个路由的熔断和耗时统计
+     */
+    private final ConcurrentMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public ResilientHttpClient(HttpClient httpClient, ResiliencePolicy policy) {
+        this(httpClient, policy, httpClient.batchExecutor());
+    }
+
+    /**
+     * @param httpClient 实际发送请求的client
+     * @param policy 重试、对冲和熔断配置
+     * @param executor 执行对冲请求的执行器
+     */
+    public ResilientHttpClient(HttpClient httpClient, ResiliencePolicy policy, Executor executor) {
+        this.httpClient = httpClient;
+        this.policy = policy;
+        this.executor = executor;
+    }
+
+    @Override
+    public byte[] sendBackByte(HttpRequest request) throws HttpException {
+        return (byte[]) send(request, ResponseType.BYTE);
+    }
+
+    @Override
+    public String sendBackString(HttpRequest request) throws HttpException {
+        return (String) send(request, ResponseType.STRING);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, String> sendBackMap(HttpRequest request) throws HttpException {
+        return (Map<String, String>) send(request, ResponseType.BODY);
+    }
+
+    /**
+     * 发送报文
+     *
+     * @param request 请求
+     * @param responseType 返回数据类型
+     * @return 返回结果, 与{@link HttpClient#send(HttpRequest, ResponseType)}一致
+     * @throws HttpException 重试后仍然失败, 或者熔断中
+     */
+    public Object send(HttpRequest request, ResponseType responseType) throws HttpException {
+        RouteState route = routes.computeIfAbsent(HttpMetrics.routeOf(request.getUri()), key -> new RouteState(policy));
+        boolean idempotent = request.getMethodType() == MethodType.GET;
+        int retries = idempotent ? policy.getMaxRetries() : 0;
+        long backoff = policy.getInitialBackoff();
+        for (int attempt = 0; ; attempt++) {
+            int permit = route.tryAcquire();
+            if (permit == RouteState.DENIED) {
+                throw new HttpException(HttpErrorCode.CIRCUIT_BREAKER_OPEN);
+            }
+            try {
+                if (idempotent && policy.isHedge()) {
+                    return sendHedged(request, responseType, route);
+                }
+                return sendOnce(request, responseType, route);
+            } catch (HttpException e) {
+                if (attempt >= retries || !policy.getRetryableCodes().contains(e.getErrorCode())) {
+                    throw e;
+                }
+                logger.warn("Http request failed, retry later: uri={}, attempt={}, errorCode={}", request.getUri(), attempt + 1, e.getErrorCode());
+                if (backoff > 0) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+                backoff = Math.min(backoff * 2, policy.getMaxBackoff());
+            } finally {
+                if (permit == RouteState.PROBE) {
+                    route.releaseProbe();
+                }
+            }
+        }
+    }
+
+    private Object sendOnce(HttpRequest request, ResponseType responseType, RouteState route) throws HttpException {
+        long start = System.nanoTime();
+        try {
+            Object result = httpClient.send(request, responseType);
+            route.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (HttpException e) {
+            route.onFailure(policy.getFailureCodes().contains(e.getErrorCode()));
+            throw e;
+        }
+    }
+
+    /**
+     * 第一个请求超过对冲延迟仍未返回时发送第二个请求, 取先成功的结果, 两个都失败时抛出后失败的异常.
+     * 一次调用只按最终结果计入熔断统计
+     */
+    private Object sendHedged(HttpRequest request, ResponseType responseType, RouteState route) throws HttpException {
+        CompletionService<Attempt> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt>> futures = new ArrayList<>(2);
+        long submitted = System.nanoTime();
+        futures.add(completionService.submit(() -> attempt(request, responseType, submitted)));
+        int pending = 1;
+        HttpException failure = null;
+        try {
+            Future<Attempt> done = completionService.poll(route.hedgeDelay(), TimeUnit.NANOSECONDS);
+            if (done == null && route.isClosed()) {
+                logger.debug("Send hedged http request: uri={}", request.getUri());
+                long hedged = System.nanoTime();
+                futures.add(completionService.submit(() -> attempt(request, responseType, hedged)));
+                pending++;
+            }
+            while (pending > 0) {
+                if (done == null) {
+                    done = completionService.take();
+                }
+                pending--;
+                try {
+                    Attempt attempt = done.get();
+                    route.onSuccess(attempt.latency);
+                    return attempt.result;
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof HttpException ? (HttpException) e.getCause()
+                        : new HttpException(HttpErrorCode.ASK_SERVICE_ERROR);
+                }
+                done = null;
+            }
+            route.onFailure(policy.getFailureCodes().contains(failure.getErrorCode()));
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException(HttpErrorCode.ASK_SEND_TIMEOUT);
+        } finally {
+            for (Future<Attempt> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @param submitted 提交时间, 耗时包含在执行器中等待的时间, 与对冲延迟的计时起点一致
+     */
+    private Attempt attempt(HttpRequest request, ResponseType responseType, long submitted) throws HttpException {
+        Object result = httpClient.send(request, responseType);
+        return new Attempt(result, System.nanoTime() - submitted);
+    }
+
+    /**
+     * 对冲请求中一次请求的结果
+     */
+    private static class Attempt {
+
+        private final Object result;
+
+        /**
+         * 耗时(纳秒)
+         */
+        private final long latency;
+
+        Attempt(Object result, long latency) {
+            this.result = result;
+            this.latency = latency;
+        }
+    }
+
+    /**
+     * 单个路由的熔断状态和最近请求耗时
+     */
+    private static class RouteState {
+
+        private static final int CLOSED = 0;
+        private static final int OPEN = 1;
+        private static final int HALF_OPEN = 2;
+
+        /**
+         * {@link #tryAcquire()}的结果: 熔断中不放行、正常放行、半开状态下作为探测请求放行
+         */
+        static final int DENIED = 0;
+        static final int PERMITTED = 1;
+        static final int PROBE = 2;
+
+        /**
+         * 计算百分位需要的最少样本数
+         */
+        private static final int MIN_LATENCY_SAMPLES = 20;
+
+        private final ResiliencePolicy policy;
+
+        /**
+         * 最近请求的结果, true为失败
+         */
+        private final boolean[] outcomes;
+        private int outcomeIndex;
+        private int outcomeCount;
+        private int failures;
+
+        /**
+         * 最近成功请求的耗时(微秒), 写满一个窗口后与previousLatencies交换
+         */
+        private volatile LatencyHistogram latencies = new LatencyHistogram();
+        private volatile LatencyHistogram previousLatencies = new LatencyHistogram();
+        private final AtomicInteger latencyCount = new AtomicInteger();
+
+        /**
+         * 上一个完整窗口的对冲延迟(纳秒), 还没有完整窗口时为-1
+         */
+        private volatile long windowHedgeDelay = -1;
+
+        private int state = CLOSED;
+        private long openUntil;
+        private boolean probing;
+
+        RouteState(ResiliencePolicy policy) {
+            this.policy = policy;
+            this.outcomes = new boolean[policy.getBreakerWindow()];
+        }
+
+        synchronized int tryAcquire() {
+            if (state == CLOSED) {
+                return PERMITTED;
+            }
+            if (state == OPEN && System.currentTimeMillis() >= openUntil) {
+                state = HALF_OPEN;
+                probing = false;
+            }
+            if (state == HALF_OPEN && !probing) {
+                probing = true;
+                return PROBE;
+            }
+            return DENIED;
+        }
+
+        /**
+         * 探测请求结束. 探测请求没有记录结果就退出时(例如调用线程被中断)仍处于半开状态, 放行下一个探测请求,
+         * 否则熔断器会一直停留在半开状态
+         */
+        synchronized void releaseProbe() {
+            if (state == HALF_OPEN) {
+                probing = false;
+            }
+        }
+
+        synchronized boolean isClosed() {
+            return state == CLOSED;
+        }
+
+        void onSuccess(long latency) {
+            latencies.record(TimeUnit.NANOSECONDS.toMicros(latency));
+            if (latencyCount.incrementAndGet() == policy.getLatencyWindow()) {
+                rotateLatencies();
+            }
+            record(false);
+        }
+
+        void onFailure(boolean countable) {
+            record(countable);
+        }
+
+        /**
+         * 当前窗口写满, 计算该窗口的对冲延迟后开始新窗口
+         */
+        private void rotateLatencies() {
+            LatencyHistogram full = latencies;
+            windowHedgeDelay = percentileNanos(full);
+            LatencyHistogram next = previousLatencies;
+            next.reset();
+            previousLatencies = full;
+            latencies = next;
+            latencyCount.set(0);
+        }
+
+        private long percentileNanos(LatencyHistogram histogram) {
+            return TimeUnit.MICROSECONDS.toNanos(histogram.getValueAtPercentile(policy.getHedgePercentile()));
+        }
+
+        private synchronized void record(boolean failure) {
+            if (policy.getFailureRateThreshold() <= 0 || state == OPEN) {
+                return;
+            }
+            if (state == HALF_OPEN) {
+                if (failure) {
+                    open();
+                } else {
+                    state = CLOSED;
+                    resetOutcomes();
+                }
+                return;
+            }
+            if (outcomeCount == outcomes.length) {
+                if (outcomes[outcomeIndex]) {
+                    failures--;
+                }
+            } else {
+                outcomeCount++;
+            }
+            outcomes[outcomeIndex] = failure;
+            if (failure) {
+                failures++;
+            }
+            outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+            if (outcomeCount == outcomes.length && failures * 100 >= policy.getFailureRateThreshold() * outcomeCount) {
+                open();
+            }
+        }
+
+        private void open() {
+            logger.warn("Http circuit breaker open, failures={}, window={}", failures, outcomeCount);
+            state = OPEN;
+            openUntil = System.currentTimeMillis() + policy.getOpenDuration();
+            resetOutcomes();
+        }
+
+        private void resetOutcomes() {
+            Arrays.fill(outcomes, false);
+            outcomeIndex = 0;
+            outcomeCount = 0;
+            failures = 0;
+        }
+
+        /**
+         * 对冲延迟(纳秒): 上一个完整窗口的百分位, 还没有完整窗口时使用当前窗口, 样本不足时使用配置的默认值
+         */
+        long hedgeDelay() {
+            long delay = windowHedgeDelay;
+            if (delay >= 0) {
+                return delay;
+            }
+            LatencyHistogram current = latencies;
+            if (current.getCount() < Math.min(MIN_LATENCY_SAMPLES, policy.getLatencyWindow())) {
+                return TimeUnit.MILLISECONDS.toNanos(policy.getHedgeDelay());
+            }
+            return percentileNanos(current);
+        }
+    }
+
+}
@@ -44,7 +44,8 @@ public enum HttpErrorCode {
     CLOSE_RESPONSE_CONTENT_ERROR("21004", "关闭返回流异常"),
     HTTP_NO_RESPONSE("21005", "http调用无返回"),
     HTTP_STATUS_ERROR("21006", "http返回码异常，请核查, %s"),
-    PATTERN_GATEWAY_ERROR("21007", "调用第三方服务网关错误, %s");
+    PATTERN_GATEWAY_ERROR("21007", "调用第三方服务网关错误, %s"),
+    CIRCUIT_BREAKER_OPEN("21008", "服务熔断中, 请求被拒绝");
 
     private String code;
     private String message;
@@ -0,0 +1,258 @@
+package com.github.hinsteny.commons.warp.http.metrics;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * http client的请求指标, 按路由(协议+主机+端口)统计耗时分布、正在执行的请求数和错误码次数.
+ * <pre>
+ *     HttpMetrics metrics = HttpClientsInstance.INSTANCE.getInstance().getMetrics();
+ *     HttpMetrics.RouteMetrics route = metrics.getRoute("https://api.partner.com:443");
+ *     long p99 = route.getLatency().getValueAtPercentile(99);
+ *     long timeouts = route.getErrorCount(HttpErrorCode.ASK_SEND_TIMEOUT);
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version HttpMetrics: 2026-10-18 22:20 All rights reserved.$
+ */
+public class HttpMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpMetrics.class);
+
+    /**
+     * 地址无法解析时的路由标识, 避免每个无效地址单独统计
+     */
+    public static final String UNKNOWN_ROUTE = "unknown";
+
+    /**
+     * 路由缓存的最大数量, 超过后清空重新缓存
+     */
+    private static final int MAX_CACHED_ROUTES = 1024;
+
+    /**
+     * 地址中协议+主机+端口部分到路由标识的缓存, 同一路由不需要每次都解析地址
+     */
+    private static final ConcurrentMap<String, String> ROUTE_CACHE = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    private final List<HttpMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 路由标识: 协议+主机+端口, 地址无法解析时为{@link #UNKNOWN_ROUTE}
+     *
+     * @param uri 请求地址
+     * @return 路由标识
+     */
+    public static String routeOf(String uri) {
+        if (uri == null) {
+            return UNKNOWN_ROUTE;
+        }
+        String authority = authorityOf(uri);
+        String route = ROUTE_CACHE.get(authority);
+        if (route == null) {
+            route = parseRoute(authority);
+            if (ROUTE_CACHE.size() >= MAX_CACHED_ROUTES) {
+                ROUTE_CACHE.clear();
+            }
+            ROUTE_CACHE.put(authority, route);
+        }
+        return route;
+    }
+
+    /**
+     * 截取地址中路径之前的部分, 路径和参数不影响路由
+     */
+    private static String authorityOf(String uri) {
+        int start = uri.indexOf("://");
+        if (start < 0) {
+            return uri;
+        }
+        for (int i = start + 3; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                return uri.substring(0, i);
+            }
+        }
+        return uri;
+    }
+
+    private static String parseRoute(String authority) {
+        try {
+            URI parsed = URI.create(authority);
+            if (parsed.getHost() != null) {
+                int port = parsed.getPort();
+                if (port < 0) {
+                    port = "https".equalsIgnoreCase(parsed.getScheme()) ? 443 : 80;
+                }
+                return parsed.getScheme() + "://" + parsed.getHost() + ":" + port;
+            }
+        } catch (IllegalArgumentException e) {
+            //地址无效时由client报错
+        }
+        return UNKNOWN_ROUTE;
+    }
+
+    public void addListener(HttpMetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(HttpMetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 所有路由的指标
+     *
+     * @return 路由标识到指标的映射
+     */
+    public Map<String, RouteMetrics> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * 获取路由的指标
+     *
+     * @param route 路由标识, 见{@link #routeOf(String)}
+     * @return 指标, 该路由没有请求时为null
+     */
+    public RouteMetrics getRoute(String route) {
+        return routes.get(route);
+    }
+
+    /**
+     * 请求开始
+     *
+     * @param uri 请求地址
+     * @return 本次请求的采样, 请求结束时调用{@link Sample#end()}
+     */
+    public Sample begin(String uri) {
+        String route = routeOf(uri);
+        RouteMetrics metrics = routes.get(route);
+        if (metrics == null) {
+            metrics = routes.computeIfAbsent(route, RouteMetrics::new);
+        }
+        metrics.inFlight.incrementAndGet();
+        return new Sample(metrics);
+    }
+
+    private void end(RouteMetrics metrics, long latencyNanos, String errorCode) {
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (errorCode != null) {
+            metrics.errors.computeIfAbsent(errorCode, code -> new LongAdder()).increment();
+        }
+        for (HttpMetricsListener listener : listeners) {
+            try {
+                listener.onComplete(metrics.route, latencyNanos, errorCode);
+            } catch (RuntimeException e) {
+                logger.warn("Http metrics listener error", e);
+            }
+        }
+    }
+
+    /**
+     * 单次请求的采样, 只能在请求线程上使用
+     */
+    public class Sample {
+
+        private final RouteMetrics metrics;
+
+        private final long start = System.nanoTime();
+
+        private String errorCode;
+
+        Sample(RouteMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        /**
+         * 标记请求失败
+         *
+         * @param errorCode 错误码
+         */
+        public void fail(String errorCode) {
+            this.errorCode = errorCode;
+        }
+
+        /**
+         * 请求结束, 记录耗时和错误码
+         *
+         * @return 耗时(纳秒)
+         */
+        public long end() {
+            long latency = System.nanoTime() - start;
+            HttpMetrics.this.end(metrics, latency, errorCode);
+            return latency;
+        }
+    }
+
+    /**
+     * 单个路由的指标
+     */
+    public static class RouteMetrics {
+
+        private final String route;
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        RouteMetrics(String route) {
+            this.route = route;
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        /**
+         * 请求耗时分布(微秒), 包含失败的请求
+         *
+         * @return 耗时直方图
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * 正在执行的请求数
+         *
+         * @return 请求数
+         */
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getErrorCount(HttpErrorCode errorCode) {
+            LongAdder counter = errors.get(errorCode.getCode());
+            return counter == null ? 0 : counter.sum();
+        }
+
+        /**
+         * 各错误码的次数
+         *
+         * @return 错误码到次数的映射
+         */
+        public Map<String, Long> getErrorCounts() {
+            Map<String, Long> counts = new HashMap<>(errors.size());
+            errors.forEach((code, counter) -> counts.put(code, counter.sum()));
+            return counts;
+        }
+    }
+
+}
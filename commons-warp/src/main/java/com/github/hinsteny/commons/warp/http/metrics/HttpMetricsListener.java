@@ -0,0 +1,23 @@
+package com.github.hinsteny.commons.warp.http.metrics;
+
+/**
+ * http请求指标监听器, 用于把指标导出到外部监控系统.
+ * <p>
+ * 在请求线程上同步回调, 实现需要足够轻量且不能抛出异常
+ * </p>
+ *
+ * @author Hinsteny
+ * @version HttpMetricsListener: 2026-10-18 22:15 All rights reserved.$
+ */
+public interface HttpMetricsListener {
+
+    /**
+     * 请求结束
+     *
+     * @param route 路由, 协议+主机+端口
+     * @param latencyNanos 耗时(纳秒)
+     * @param errorCode 错误码, 成功时为null
+     */
+    void onComplete(String route, long latencyNanos, String errorCode);
+
+}
@@ -0,0 +1,123 @@
+package com.github.hinsteny.commons.warp.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的耗时直方图, 按2的幂分组, 每组再均分为16个桶, 相对误差不超过1/16.
+ * <p>
+ * 记录单位为微秒, 可记录的最大值约为2^41微秒(约25天), 超出的值计入最后一个桶
+ * </p>
+ *
+ * @author Hinsteny
+ * @version LatencyHistogram: 2026-10-18 22:10 All rights reserved.$
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param micros 耗时(微秒)
+     */
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 平均耗时(微秒)
+     *
+     * @return 平均耗时, 没有记录时为0
+     */
+    public long getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : total.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 获取百分位耗时
+     *
+     * @param percentile 百分位, 0到100
+     * @return 耗时(微秒), 返回所在桶的上界, 不超过记录的最大值
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * n));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= target) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 清空记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    static long lowerBound(int index) {
+        int group = index / SUB_BUCKET_COUNT;
+        if (group == 0) {
+            return index;
+        }
+        int exponent = group + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBound(int index) {
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+}
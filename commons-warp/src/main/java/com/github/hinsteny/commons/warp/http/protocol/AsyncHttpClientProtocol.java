@@ -0,0 +1,40 @@
+package com.github.hinsteny.commons.warp.http.protocol;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步http请求定义接口, 与{@link HttpClientProtocol}一一对应.
+ * <p>
+ * 调用方线程只负责发起请求，等待响应期间不占用线程；请求失败时future以{@link HttpException}异常完成
+ * </p>
+ *
+ * @author Hinsteny
+ * @version AsyncHttpClientProtocol: 2026-10-18 16:50 All rights reserved.$
+ */
+public interface AsyncHttpClientProtocol {
+
+    /**
+     * 异步发送报文
+     * @param request 请求
+     * @return 返回参数的future
+     */
+    CompletableFuture<byte[]> sendBackByteAsync(HttpRequest request);
+
+    /**
+     * 异步发送报文
+     * @param request 请求
+     * @return 返回参数的future
+     */
+    CompletableFuture<String> sendBackStringAsync(HttpRequest request);
+
+    /**
+     * 异步发送报文
+     * @param request 请求
+     * @return 返回参数的future, 统一返回json结果
+     */
+    CompletableFuture<Map<String, String>> sendBackMapAsync(HttpRequest request);
+
+}
@@ -0,0 +1,26 @@
+package com.github.hinsteny.commons.warp.http.protocol;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 以流的方式处理http响应内容, 响应内容不会整体读入内存.
+ *
+ * @param <T> 处理结果类型
+ * @author Hinsteny
+ * @version ResponseStreamHandler: 2026-10-18 19:05 All rights reserved.$
+ */
+public interface ResponseStreamHandler<T> {
+
+    /**
+     * 处理响应内容, 方法返回后响应流由调用方关闭, 需要{@link java.nio.channels.ReadableByteChannel}时
+     * 可以用{@link java.nio.channels.Channels#newChannel(InputStream)}包装
+     *
+     * @param content 响应内容, 无响应体时为空流
+     * @param charset 响应声明的字符集, 未声明时为UTF-8
+     * @return 处理结果
+     * @throws Exception 处理异常
+     */
+    T handle(InputStream content, Charset charset) throws Exception;
+
+}
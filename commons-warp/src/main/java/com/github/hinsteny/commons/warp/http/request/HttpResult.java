@@ -0,0 +1,59 @@
+package com.github.hinsteny.commons.warp.http.request;
+
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+
+/**
+ * 批量请求中单个请求的结果, 成功时包含返回值, 失败时包含异常.
+ *
+ * @param <T> 返回值类型
+ * @author Hinsteny
+ * @version HttpResult: 2026-10-18 17:50 All rights reserved.$
+ */
+public class HttpResult<T> {
+
+    /**
+     * 请求
+     */
+    private final HttpRequest request;
+
+    /**
+     * 返回值
+     */
+    private final T value;
+
+    /**
+     * 请求异常
+     */
+    private final HttpException exception;
+
+    private HttpResult(HttpRequest request, T value, HttpException exception) {
+        this.request = request;
+        this.value = value;
+        this.exception = exception;
+    }
+
+    public static <T> HttpResult<T> success(HttpRequest request, T value) {
+        return new HttpResult<>(request, value, null);
+    }
+
+    public static <T> HttpResult<T> failure(HttpRequest request, HttpException exception) {
+        return new HttpResult<>(request, null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    public HttpRequest getRequest() {
+        return request;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public HttpException getException() {
+        return exception;
+    }
+
+}
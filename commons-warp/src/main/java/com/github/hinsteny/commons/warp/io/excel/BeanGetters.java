@@ -0,0 +1,149 @@
+package com.github.hinsteny.commons.warp.io.excel;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 导出时按字段名读取对象属性的getter缓存.
+ * <p>
+ * 每个类的每个getter只在第一次使用时查找一次(包括任意层级的父类)并缓存, 逐行导出时不再有反射调用.
+ * 目标类与本模块在同一模块中时通过{@link LambdaMetafactory}生成访问器, 否则缓存方法句柄, 只需要getter是public的
+ * </p>
+ *
+ * @author Hinsteny
+ * @version BeanGetters: 2026-10-18 23:20 All rights reserved.$
+ */
+final class BeanGetters {
+
+    /**
+     * 每个类只生成一次
+     */
+    private static final ClassValue<BeanGetters> GETTERS = new ClassValue<>() {
+        @Override
+        protected BeanGetters computeValue(Class<?> type) {
+            return new BeanGetters(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final Lookup lookup;
+
+    /**
+     * 字段名与getter的对应关系
+     */
+    private final ConcurrentMap<String, Function<Object, Object>> getters = new ConcurrentHashMap<>();
+
+    private BeanGetters(Class<?> type) {
+        this.type = type;
+        this.lookup = lookupFor(type);
+    }
+
+    static BeanGetters of(Class<?> type) {
+        return GETTERS.get(type);
+    }
+
+    /**
+     * 获取字段的getter, 依次查找getXxx和isXxx
+     *
+     * @param fieldName 字段名
+     * @return getter, 基本类型的返回值会被装箱
+     * @throws NoSuchMethodException 类及其父类都没有该字段的getter
+     */
+    Function<Object, Object> getter(String fieldName) throws NoSuchMethodException {
+        Function<Object, Object> getter = getters.get(fieldName);
+        if (getter == null) {
+            getter = createGetter(fieldName);
+            getters.putIfAbsent(fieldName, getter);
+        }
+        return getter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Object, Object> createGetter(String fieldName) throws NoSuchMethodException {
+        String property = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        Method method = findMethod("get" + property);
+        if (method == null) {
+            method = findMethod("is" + property);
+        }
+        if (method == null) {
+            throw new NoSuchMethodException(type.getName() + " don't have method --> get" + property);
+        }
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access " + method, e);
+        }
+        if (!hasFullPrivilegeAccess(lookup)) {
+            //目标类在其他模块中时LambdaMetafactory不接受该lookup, 直接调用方法句柄
+            MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return (Object) getter.invokeExact(target);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+        try {
+            MethodType instantiatedType = MethodType.methodType(method.getReturnType(), type).wrap();
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle, instantiatedType).getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not generate accessor for " + method, e);
+        }
+    }
+
+    /**
+     * 在类及其所有父类中查找无参的实例方法
+     */
+    private Method findMethod(String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Method method = current.getDeclaredMethod(name);
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                //继续查找父类
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取可在目标类内部生成访问器的lookup, 目标类所在的包没有开放给本模块时只能访问public方法
+     */
+    private static Lookup lookupFor(Class<?> type) {
+        Module module = BeanGetters.class.getModule();
+        if (!module.canRead(type.getModule())) {
+            module.addReads(type.getModule());
+        }
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.lookup();
+        }
+    }
+
+    /**
+     * 与JDK 14的Lookup.hasFullPrivilegeAccess()一致: 同时拥有PRIVATE和MODULE权限.
+     * JDK 14开始, 通过privateLookupIn获取的其他模块中类的lookup没有MODULE权限
+     */
+    private static boolean hasFullPrivilegeAccess(Lookup lookup) {
+        int full = Lookup.PRIVATE | Lookup.MODULE;
+        return (lookup.lookupModes() & full) == full;
+    }
+
+}
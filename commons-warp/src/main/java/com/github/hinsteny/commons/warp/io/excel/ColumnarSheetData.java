@@ -0,0 +1,519 @@
+package com.github.hinsteny.commons.warp.io.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按列存储的单个sheet页数据, 第一行为表头, 其余为数据, 通过{@link ExcelUtil#convertSheetDataAsColumns(String)}读取.
+ * <p>
+ * 与{@link SheetData}每行一个List或Map不同, 每一列使用一个数组保存: 全部为整数的列使用long[], 含有小数的数值列使用double[],
+ * 其他列使用字符串字典加编码数组(重复的值只保存一份), 空单元格记录在BitSet中. 大表格的内存占用少很多, 按列遍历也更快
+ * </p>
+ * <pre>
+ *     ColumnarSheetData data = ExcelUtil.convertSheetDataAsColumns("/data/reconciliation.xlsx");
+ *     ColumnarSheetData.Column amount = data.getColumn("KEY3");
+ *     long total = 0;
+ *     for (int i = 0; i &lt; data.getRowCount(); i++) {
+ *         total += amount.getLong(i);
+ *     }
+ * </pre>
+ *
+ * @author Hinsteny
+ * @version ColumnarSheetData: 2026-10-18 23:40 All rights reserved.$
+ */
+public class ColumnarSheetData {
+
+    /**
+     * 列的存储类型
+     */
+    public enum ColumnType {
+        /**
+         * 整数
+         */
+        LONG,
+        /**
+         * 小数
+         */
+        DOUBLE,
+        /**
+         * 字符串
+         */
+        STRING
+    }
+
+    /**
+     * 表头与key的对应关系
+     */
+    private final List<HeaderKey> headerKeys;
+
+    private final List<Column> columns;
+
+    private final Map<String, Column> columnsByKey;
+
+    private final int rowCount;
+
+    private ColumnarSheetData(List<HeaderKey> headerKeys, List<Column> columns, int rowCount) {
+        this.headerKeys = Collections.unmodifiableList(headerKeys);
+        this.columns = Collections.unmodifiableList(columns);
+        this.columnsByKey = new HashMap<>(columns.size() * 2);
+        for (Column column : columns) {
+            columnsByKey.put(column.key, column);
+        }
+        this.rowCount = rowCount;
+    }
+
+    public List<HeaderKey> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public Column getColumn(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * 按key获取列
+     *
+     * @param key 列的key, 见{@link HeaderKey#getKey()}
+     * @return 列, 不存在时为null
+     */
+    public Column getColumn(String key) {
+        return columnsByKey.get(key);
+    }
+
+    /**
+     * 获取一行数据的视图, 视图不复制数据
+     *
+     * @param rowIndex 数据行下标, 从0开始, 不包含表头
+     * @return 行视图
+     */
+    public Row getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + rowIndex + " out of " + rowCount);
+        }
+        return new Row(rowIndex);
+    }
+
+    /**
+     * 数据行的视图
+     */
+    public class Row {
+
+        private final int rowIndex;
+
+        private Row(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        public int getRowIndex() {
+            return rowIndex;
+        }
+
+        public boolean isNull(int column) {
+            return columns.get(column).isNull(rowIndex);
+        }
+
+        public String getString(int column) {
+            return columns.get(column).getString(rowIndex);
+        }
+
+        public long getLong(int column) {
+            return columns.get(column).getLong(rowIndex);
+        }
+
+        public double getDouble(int column) {
+            return columns.get(column).getDouble(rowIndex);
+        }
+
+        /**
+         * 转为字符串列表, 空单元格为null
+         *
+         * @return 各列的值
+         */
+        public List<String> toList() {
+            List<String> values = new ArrayList<>(columns.size());
+            for (Column column : columns) {
+                values.add(column.getString(rowIndex));
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 一列数据.
+     * <p>
+     * 读取时先按整数或小数保存, 整数列中出现小数时提升为小数列, 并记录哪些行原本是整数.
+     * 只有每个值转回字符串后与原值一致时才保持数值类型(例如"007"、"1.50"会按字符串保存), 因此{@link #getString(int)}总是返回原值
+     * </p>
+     */
+    public static class Column {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final String key;
+
+        private final String name;
+
+        /**
+         * 还没有非空值时为null
+         */
+        private ColumnType type;
+
+        private int size;
+
+        private final BitSet nulls = new BitSet();
+
+        /**
+         * 小数列中原值为整数的行, 用于还原原值(例如"100"而不是"100.0")
+         */
+        private final BitSet integrals = new BitSet();
+
+        /**
+         * 已保存的整数都可以用double精确表示, 提升为小数列时不丢失精度
+         */
+        private boolean longsExactInDouble = true;
+
+        private long[] longs;
+
+        private double[] doubles;
+
+        /**
+         * 字符串在字典中的编码
+         */
+        private int[] codes;
+
+        private List<String> dictionary;
+
+        /**
+         * 字符串到编码的映射, 只在读取时使用
+         */
+        private Map<String, Integer> dictionaryIndex;
+
+        private Column(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 存储类型, 整列为空时为{@link ColumnType#STRING}
+         *
+         * @return 存储类型
+         */
+        public ColumnType getType() {
+            return type == null ? ColumnType.STRING : type;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isNull(int row) {
+            checkIndex(row);
+            return nulls.get(row);
+        }
+
+        /**
+         * @param row 数据行下标
+         * @return 原值, 空单元格为null
+         */
+        public String getString(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            switch (type) {
+                case LONG:
+                    return Long.toString(longs[row]);
+                case DOUBLE:
+                    return integrals.get(row) ? Long.toString((long) doubles[row]) : Double.toString(doubles[row]);
+                default:
+                    return dictionary.get(codes[row]);
+            }
+        }
+
+        /**
+         * @param row 数据行下标
+         * @return 整数值, 空单元格为0
+         * @throws IllegalStateException 不是数值列
+         */
+        public long getLong(int row) {
+            if (isNull(row)) {
+                return 0;
+            }
+            if (type == ColumnType.LONG) {
+                return longs[row];
+            } else if (type == ColumnType.DOUBLE) {
+                return (long) doubles[row];
+            }
+            throw new IllegalStateException("column " + key + " is not numeric");
+        }
+
+        /**
+         * @param row 数据行下标
+         * @return 数值, 空单元格为0
+         * @throws IllegalStateException 不是数值列
+         */
+        public double getDouble(int row) {
+            if (isNull(row)) {
+                return 0;
+            }
+            if (type == ColumnType.DOUBLE) {
+                return doubles[row];
+            } else if (type == ColumnType.LONG) {
+                return longs[row];
+            }
+            throw new IllegalStateException("column " + key + " is not numeric");
+        }
+
+        private void checkIndex(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("row " + row + " out of " + size);
+            }
+        }
+
+        private void append(String value) {
+            int row = size++;
+            if (value == null) {
+                nulls.set(row);
+                ensureCapacity(row);
+                return;
+            }
+            ColumnType valueType = null;
+            if (type != ColumnType.STRING) {
+                valueType = typeOf(value);
+                if (type == null) {
+                    type = valueType;
+                } else if (valueType != type) {
+                    if (type == ColumnType.LONG && valueType == ColumnType.DOUBLE && longsExactInDouble) {
+                        toDoubleColumn(row);
+                    } else if (type != ColumnType.DOUBLE || valueType != ColumnType.LONG || !isExactInDouble(Long.parseLong(value))) {
+                        toStringColumn(row);
+                    }
+                }
+            }
+            ensureCapacity(row);
+            switch (type) {
+                case LONG:
+                    longs[row] = Long.parseLong(value);
+                    longsExactInDouble &= isExactInDouble(longs[row]);
+                    break;
+                case DOUBLE:
+                    if (valueType == ColumnType.LONG) {
+                        doubles[row] = Long.parseLong(value);
+                        integrals.set(row);
+                    } else {
+                        doubles[row] = Double.parseDouble(value);
+                    }
+                    break;
+                default:
+                    Integer code = dictionaryIndex.get(value);
+                    if (code == null) {
+                        code = dictionary.size();
+                        dictionary.add(value);
+                        dictionaryIndex.put(value, code);
+                    }
+                    codes[row] = code;
+                    break;
+            }
+        }
+
+        /**
+         * 确保可以写入下标为row的值
+         */
+        private void ensureCapacity(int row) {
+            if (type == null) {
+                return;
+            }
+            switch (type) {
+                case LONG:
+                    longs = grow(longs, row);
+                    break;
+                case DOUBLE:
+                    doubles = grow(doubles, row);
+                    break;
+                default:
+                    if (dictionary == null) {
+                        dictionary = new ArrayList<>();
+                        dictionaryIndex = new HashMap<>(INITIAL_CAPACITY);
+                    }
+                    codes = codes == null ? new int[Math.max(INITIAL_CAPACITY, row + 1)]
+                        : row < codes.length ? codes : Arrays.copyOf(codes, Math.max(codes.length * 2, row + 1));
+                    break;
+            }
+        }
+
+        private static long[] grow(long[] array, int row) {
+            if (array == null) {
+                return new long[Math.max(INITIAL_CAPACITY, row + 1)];
+            }
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, row + 1));
+        }
+
+        private static double[] grow(double[] array, int row) {
+            if (array == null) {
+                return new double[Math.max(INITIAL_CAPACITY, row + 1)];
+            }
+            return row < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, row + 1));
+        }
+
+        /**
+         * 整数列中出现小数, 把前row行转为小数保存
+         */
+        private void toDoubleColumn(int row) {
+            long[] previousLongs = longs;
+            type = ColumnType.DOUBLE;
+            longs = null;
+            ensureCapacity(row);
+            for (int i = 0; i < row; i++) {
+                if (!nulls.get(i)) {
+                    doubles[i] = previousLongs[i];
+                    integrals.set(i);
+                }
+            }
+        }
+
+        /**
+         * 出现非数值, 或者无法用double精确保存的整数, 把前row行转为字符串保存
+         */
+        private void toStringColumn(int row) {
+            ColumnType previous = type;
+            long[] previousLongs = longs;
+            double[] previousDoubles = doubles;
+            type = ColumnType.STRING;
+            longs = null;
+            doubles = null;
+            ensureCapacity(row);
+            for (int i = 0; i < row; i++) {
+                if (nulls.get(i)) {
+                    continue;
+                }
+                String value;
+                if (previous == ColumnType.LONG || integrals.get(i)) {
+                    value = previous == ColumnType.LONG ? Long.toString(previousLongs[i]) : Long.toString((long) previousDoubles[i]);
+                } else {
+                    value = Double.toString(previousDoubles[i]);
+                }
+                Integer code = dictionaryIndex.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.add(value);
+                    dictionaryIndex.put(value, code);
+                }
+                codes[i] = code;
+            }
+            integrals.clear();
+        }
+
+        /**
+         * 绝对值不超过2^53的整数可以用double精确表示
+         */
+        private static boolean isExactInDouble(long value) {
+            return value >= -(1L << 53) && value <= 1L << 53;
+        }
+
+        /**
+         * 读取完成, 释放多余的空间
+         */
+        private void trim() {
+            if (longs != null) {
+                longs = Arrays.copyOf(longs, size);
+            }
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, size);
+            }
+            if (codes != null) {
+                codes = Arrays.copyOf(codes, size);
+                dictionary = Collections.unmodifiableList(new ArrayList<>(dictionary));
+                dictionaryIndex = null;
+            }
+        }
+
+        /**
+         * 值转回字符串后与原值一致时才按数值保存
+         */
+        private static ColumnType typeOf(String value) {
+            int length = value.length();
+            if (length == 0 || length > 24) {
+                return ColumnType.STRING;
+            }
+            char first = value.charAt(0);
+            if (first != '-' && (first < '0' || first > '9')) {
+                return ColumnType.STRING;
+            }
+            try {
+                if (Long.toString(Long.parseLong(value)).equals(value)) {
+                    return ColumnType.LONG;
+                }
+            } catch (NumberFormatException e) {
+                //不是整数
+            }
+            try {
+                if (Double.toString(Double.parseDouble(value)).equals(value)) {
+                    return ColumnType.DOUBLE;
+                }
+            } catch (NumberFormatException e) {
+                //不是数值
+            }
+            return ColumnType.STRING;
+        }
+    }
+
+    /**
+     * 逐行读取时按列追加数据
+     */
+    static class Builder implements ExcelRowHandler {
+
+        private List<HeaderKey> headerKeys = new ArrayList<>();
+
+        private final List<Column> columns = new ArrayList<>();
+
+        private int rowCount;
+
+        @Override
+        public void onHeader(List<HeaderKey> headerKeys) {
+            this.headerKeys = new ArrayList<>(headerKeys);
+            for (HeaderKey headerKey : headerKeys) {
+                columns.add(new Column(headerKey.getKey(), headerKey.getName()));
+            }
+        }
+
+        @Override
+        public void onRow(int rowNum, List<String> data) {
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).append(data.get(i));
+            }
+            rowCount++;
+        }
+
+        ColumnarSheetData build() {
+            for (Column column : columns) {
+                column.trim();
+            }
+            return new ColumnarSheetData(headerKeys, columns, rowCount);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.hinsteny.commons.warp.io.excel;
+
+import java.util.List;
+
+/**
+ * 流式读取excel时的行处理器, 见{@link ExcelUtil#readSheet(String, int, ExcelRowHandler)}
+ *
+ * @author Hinsteny
+ * @version ExcelRowHandler: 2026-10-18 22:50 All rights reserved.$
+ */
+@FunctionalInterface
+public interface ExcelRowHandler {
+
+    /**
+     * 读取到表头(第一行)
+     *
+     * @param headerKeys 表头与key的对应关系, 与{@link SheetData#getHeaderKeys()}一致
+     * @throws Exception 处理异常, 会终止读取
+     */
+    default void onHeader(List<HeaderKey> headerKeys) throws Exception {
+    }
+
+    /**
+     * 读取到一行数据, 列数与表头一致, 空单元格为"NULL"
+     *
+     * @param rowNum 行号, 从0开始, 表头为第0行
+     * @param data 单元格的格式化值
+     * @throws Exception 处理异常, 会终止读取
+     */
+    void onRow(int rowNum, List<String> data) throws Exception;
+
+}
@@ -0,0 +1,23 @@
+package com.github.hinsteny.commons.warp.io.excel;
+
+/**
+ * 读取多个sheet页时为每个sheet页创建行处理器, 见{@link ExcelUtil#readFiles(java.util.List, int, ExcelSheetHandlerFactory)}
+ *
+ * @author Hinsteny
+ * @version ExcelSheetHandlerFactory: 2026-10-19 00:10 All rights reserved.$
+ */
+@FunctionalInterface
+public interface ExcelSheetHandlerFactory {
+
+    /**
+     * 创建sheet页的行处理器
+     *
+     * @param filePath 文件路径
+     * @param sheetIndex sheet页下标, 从0开始
+     * @param sheetName sheet页名称
+     * @return 行处理器, 返回null时跳过该sheet页
+     * @throws Exception 创建异常, 会终止该文件的读取
+     */
+    ExcelRowHandler create(String filePath, int sheetIndex, String sheetName) throws Exception;
+
+}
@@ -4,21 +4,52 @@ import com.github.hinsteny.commons.core.utils.StringUtil;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 /**
  * @author Hinsteny
@@ -30,8 +61,22 @@ public class ExcelUtil {
     private static String KEY_PREFIX = "KEY";
     private static String NULL_VALUE = "NULL";
 
+    /**
+     * 流式导出时内存中保留的行数
+     */
+    private static final int STREAMING_WINDOW_SIZE = 500;
+
+    private static final String DATE_FORMAT = "yyyy-mm-dd";
+    private static final String DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    /**
+     * excel数值单元格最多保留15位有效数字, 绝对值不小于该值的整数写为字符串
+     */
+    private static final long NUMERIC_LIMIT = 1_000_000_000_000_000L;
+
     /**
      * 导入: 从excel到SheetData. tbody data保存到 SheetData.dataList
+     * <p>整个工作簿会加载到内存, 大文件使用{@link #readSheet(String, int, ExcelRowHandler)}</p>
      * @param filePath 文件路径
      * @return 工作表
      * @throws Exception 异常
@@ -110,6 +155,7 @@ public class ExcelUtil {
 
     /**
      * 导入: 从excel到SheetData, tbody data保存到 SheetData.dataMap
+     * <p>整个工作簿会加载到内存, 大文件使用{@link #readSheet(String, int, ExcelRowHandler)}</p>
      * @param filePath 文件路径
      * @return 工作表
      * @throws Exception 异常
@@ -185,7 +231,162 @@ public class ExcelUtil {
     }
 
     /**
-     * excel导出 （单表） 由实体类对象导出。 需要getter方法。
+     * 流式导入xlsx: 边解析边把每一行交给handler, 不构建工作簿对象, 内存占用只与单行大小(和共享字符串表)有关.
+     * <p>
+     * 单元格的值按单元格格式格式化(与excel中显示的一致), 空行会被跳过, 表头之外的列会被忽略
+     * </p>
+     * <pre>
+     *     ExcelUtil.readSheet("/data/reconciliation.xlsx", 0, (rowNum, data) -&gt; repository.save(data));
+     * </pre>
+     *
+     * @param filePath 文件路径, 只支持xlsx
+     * @param sheetIndex sheet页下标, 从0开始
+     * @param handler 行处理器
+     * @throws Exception 异常
+     */
+    public static void readSheet(String filePath, int sheetIndex, ExcelRowHandler handler) throws Exception {
+        readSheet(filePath, sheetIndex, handler, NULL_VALUE);
+    }
+
+    /**
+     * 导入: 从xlsx到按列存储的ColumnarSheetData, 流式读取, 内存占用远小于{@link #convertSheetDataAsList(String)}
+     * @param filePath 文件路径, 只支持xlsx
+     * @return 工作表
+     * @throws Exception 异常
+     */
+    public static ColumnarSheetData convertSheetDataAsColumns(String filePath) throws Exception {
+        ColumnarSheetData.Builder builder = new ColumnarSheetData.Builder();
+        readSheet(filePath, 0, builder, null);
+        return builder.build();
+    }
+
+    /**
+     * 流式导入xlsx的多个sheet页, 按顺序读取, 每个sheet页的行交给factory为其创建的handler
+     * @param filePath 文件路径, 只支持xlsx
+     * @param factory 行处理器工厂, 返回null的sheet页会被跳过
+     * @throws Exception 异常
+     */
+    public static void readSheets(String filePath, ExcelSheetHandlerFactory factory) throws Exception {
+        readSheets(filePath, factory, NULL_VALUE);
+    }
+
+    /**
+     * 在有界线程池中并发读取一批xlsx文件, 每个文件由一个线程按顺序读取它的sheet页(共享同一个共享字符串表).
+     * <p>
+     * 行在解析线程上直接交给handler, handler处理慢时解析线程随之等待, 同时在内存中的数据不超过parallelism行;
+     * 不同sheet页的handler可能被并发调用, 同一个handler只会在一个线程上调用. 一个文件失败不影响其他文件
+     * </p>
+     * <pre>
+     *     Map&lt;String, Exception&gt; failures = ExcelUtil.readFiles(paths, 16,
+     *         (filePath, sheetIndex, sheetName) -&gt; (rowNum, data) -&gt; repository.save(filePath, sheetName, data));
+     * </pre>
+     * @param filePaths 文件路径, 只支持xlsx
+     * @param parallelism 最多同时读取的文件数
+     * @param factory 行处理器工厂, 返回null的sheet页会被跳过
+     * @return 读取失败的文件及异常, 全部成功时为空
+     * @throws Exception 等待时被中断
+     */
+    public static Map<String, Exception> readFiles(List<String> filePaths, int parallelism, ExcelSheetHandlerFactory factory) throws Exception {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must greater than zero");
+        }
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        if (filePaths.isEmpty()) {
+            return failures;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, filePaths.size()), runnable -> {
+            Thread thread = new Thread(runnable, "excel-reader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(filePaths.size());
+            for (String filePath : filePaths) {
+                futures.add(executor.submit(() -> {
+                    readSheets(filePath, factory, NULL_VALUE);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    failures.put(filePaths.get(i), (Exception) cause);
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param nullValue 空单元格的值
+     */
+    private static void readSheet(String filePath, int sheetIndex, ExcelRowHandler handler, String nullValue) throws Exception {
+        boolean[] found = new boolean[1];
+        readSheets(filePath, (path, index, name) -> {
+            if (index != sheetIndex) {
+                return null;
+            }
+            found[0] = true;
+            return handler;
+        }, nullValue);
+        if (!found[0]) {
+            throw new Exception("sheet not exists, index=" + sheetIndex);
+        }
+    }
+
+    /**
+     * @param nullValue 空单元格的值
+     */
+    private static void readSheets(String filePath, ExcelSheetHandlerFactory factory, String nullValue) throws Exception {
+        if (!filePath.endsWith(".xlsx")) {
+            throw new Exception("incorrect file format, streaming read only support xlsx.");
+        }
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = null;
+            ReadOnlySharedStringsTable strings = null;
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int index = 0; sheets.hasNext(); index++) {
+                try (InputStream sheet = sheets.next()) {
+                    ExcelRowHandler handler = factory.create(filePath, index, sheets.getSheetName());
+                    if (null == handler) {
+                        continue;
+                    }
+                    if (null == strings) {
+                        styles = reader.getStylesTable();
+                        strings = new ReadOnlySharedStringsTable(pkg);
+                    }
+                    XMLReader parser = SAXHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, new RowCollector(handler, nullValue),
+                        new DataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (HandlerException e) {
+            throw (Exception) e.getCause();
+        } catch (SAXException e) {
+            throw new Exception("analysis excel exception", e);
+        } finally {
+            if (null != pkg) {
+                //只读打开的包不需要保存
+                pkg.revert();
+            }
+        }
+    }
+
+    /**
+     * excel导出 （单表） 由实体类对象导出。 需要getter方法(可以在任意层级的父类中), 数值、布尔和日期类型的字段写为对应类型的单元格。
+     * 文件名以.xlsx结尾时使用流式导出, 见{@link #export(String, String, Iterator, String[], String[])}
      * // 需优化为，无需getter方法 和支持 Map导出
      * @param fileNamePath 文件路径
      * @param sheetName sheet名称
@@ -197,35 +398,15 @@ public class ExcelUtil {
      * @throws Exception 异常
      */
     public static <T> File export(String fileNamePath, String sheetName, List<T> list, String[] titles, String[] fieldNames) throws Exception {
+        if (fileNamePath.endsWith(".xlsx")) {
+            return export(fileNamePath, sheetName, list.iterator(), titles, fieldNames);
+        }
         //生成一个新的sheet,并以表名命名
         sheetName = StringUtil.isNullOrEmpty(sheetName) ? "sheet1" : sheetName;
 
         HSSFWorkbook workbook = new HSSFWorkbook();
         HSSFSheet sheet = workbook.createSheet(sheetName);
-
-        // 设置表头的说明
-        HSSFRow topRow = sheet.createRow(0);
-        for (int i = 0; i < titles.length; i++) {
-            setCellValue(topRow.createCell(i), titles[i]);
-        }
-
-        //填入内容
-        Method method;
-        HSSFRow row;
-        T t;
-        Object res;
-        // 遍历生成数据行，通过反射获取字段的get方法
-        for (int i = 0; i < list.size(); i++) {
-            t = list.get(i);
-            row = sheet.createRow(i + 1);
-            Class<?> clazz = t.getClass();
-            for (int j = 0; j < fieldNames.length; j++) {
-                //通过类和字段名 获取对应的method
-                method = getMethod(clazz, fieldNames[j]);
-                res = method.invoke(t);
-                setCellValue(row.createCell(j), res + "");
-            }
-        }
+        writeSheet(sheet, list.iterator(), titles, fieldNames);
 
         //写入文件
         OutputStream os = null;
@@ -244,16 +425,155 @@ public class ExcelUtil {
         return file;
     }
 
+    /**
+     * 流式导出xlsx (单表): 内存中只保留最近{@link #STREAMING_WINDOW_SIZE}行, 其余行写入压缩的临时文件, 数据边读边写,
+     * 导出百万行数据时内存占用也保持不变
+     * @param fileNamePath 文件路径, 需以.xlsx结尾
+     * @param sheetName sheet名称
+     * @param rows 数据来源, 例如数据库游标
+     * @param titles  表头
+     * @param fieldNames  字段名称数组
+     * @param <T> 实体类型
+     * @return file 文件
+     * @throws Exception 异常
+     */
+    public static <T> File export(String fileNamePath, String sheetName, Iterator<T> rows, String[] titles, String[] fieldNames) throws Exception {
+        if (!fileNamePath.endsWith(".xlsx")) {
+            throw new Exception("incorrect file format, streaming export only support xlsx.");
+        }
+        sheetName = StringUtil.isNullOrEmpty(sheetName) ? "sheet1" : sheetName;
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        File file = new File(fileNamePath);
+        try (OutputStream os = new FileOutputStream(file)) {
+            writeSheet(workbook.createSheet(sheetName), rows, titles, fieldNames);
+            workbook.write(os);
+        } catch (Exception e) {
+            throw new Exception("write excel file error!", e);
+        } finally {
+            //删除临时文件
+            workbook.dispose();
+            workbook.close();
+        }
+        return file;
+    }
+
+    /**
+     * 流式导出xlsx (单表), 见{@link #export(String, String, Iterator, String[], String[])}
+     * @param fileNamePath 文件路径, 需以.xlsx结尾
+     * @param sheetName sheet名称
+     * @param rows 数据来源, 导出后关闭
+     * @param titles  表头
+     * @param fieldNames  字段名称数组
+     * @param <T> 实体类型
+     * @return file 文件
+     * @throws Exception 异常
+     */
+    public static <T> File export(String fileNamePath, String sheetName, Stream<T> rows, String[] titles, String[] fieldNames) throws Exception {
+        try (Stream<T> stream = rows) {
+            return export(fileNamePath, sheetName, stream.iterator(), titles, fieldNames);
+        }
+    }
+
+    /**
+     * 写入表头和数据行, 字段的getter见{@link BeanGetters}
+     */
+    private static <T> void writeSheet(Sheet sheet, Iterator<T> rows, String[] titles, String[] fieldNames) throws Exception {
+        // 设置表头的说明
+        Row topRow = sheet.createRow(0);
+        for (int i = 0; i < titles.length; i++) {
+            setCellValue(topRow.createCell(i), titles[i]);
+        }
+
+        CellStyle dateStyle = createDateStyle(sheet.getWorkbook(), DATE_FORMAT);
+        CellStyle dateTimeStyle = createDateStyle(sheet.getWorkbook(), DATE_TIME_FORMAT);
+        //填入内容
+        Class<?> clazz = null;
+        List<Function<Object, Object>> getters = new ArrayList<>(fieldNames.length);
+        Row row;
+        T t;
+        for (int i = 1; rows.hasNext(); i++) {
+            t = rows.next();
+            row = sheet.createRow(i);
+            if (t.getClass() != clazz) {
+                clazz = t.getClass();
+                BeanGetters beanGetters = BeanGetters.of(clazz);
+                getters.clear();
+                for (String fieldName : fieldNames) {
+                    getters.add(beanGetters.getter(fieldName));
+                }
+            }
+            for (int j = 0; j < fieldNames.length; j++) {
+                setCellValue(row.createCell(j), getters.get(j).apply(t), dateStyle, dateTimeStyle);
+            }
+        }
+    }
+
+    private static CellStyle createDateStyle(Workbook workbook, String format) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(format));
+        return style;
+    }
+
     /**
      * 把数据填入到单元格中
      * @param cell 单元格
      * @param value 值
      */
-    private static void setCellValue(HSSFCell cell, String value) {
-        cell.setCellType(CellType.STRING);
+    private static void setCellValue(Cell cell, String value) {
         cell.setCellValue(value);
     }
 
+    /**
+     * 按值的类型填入单元格: 数值、布尔和日期写为对应类型的单元格, null为空单元格, 其他类型写为字符串
+     * @param cell 单元格
+     * @param value 值
+     * @param dateStyle 日期格式
+     * @param dateTimeStyle 日期时间格式
+     */
+    private static void setCellValue(Cell cell, Object value, CellStyle dateStyle, CellStyle dateTimeStyle) {
+        if (null == value) {
+            return;
+        }
+        if (value instanceof Number) {
+            if (isExactDouble((Number) value)) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                //超过double精度的数值写为字符串, 避免精度丢失
+                setCellValue(cell, value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            }
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue(Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant()));
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue(Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            cell.setCellStyle(dateStyle);
+        } else {
+            setCellValue(cell, value.toString());
+        }
+    }
+
+    /**
+     * 数值能否用double精确表示(excel最多保留15位有效数字)
+     */
+    private static boolean isExactDouble(Number value) {
+        if (value instanceof Long) {
+            long v = value.longValue();
+            return v > -NUMERIC_LIMIT && v < NUMERIC_LIMIT;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).precision() <= 15;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).abs().compareTo(BigInteger.valueOf(NUMERIC_LIMIT)) < 0;
+        }
+        return true;
+    }
+
     /**
      * 从单元格中获取数据
      * @param cell 单元格
@@ -282,29 +602,6 @@ public class ExcelUtil {
         return value;
     }
 
-    /**
-     * 获取method
-     * @param clazz 类
-     * @param fieldName 字段名
-     * @return Method method
-     * @throws NoSuchMethodException 异常
-     */
-    private static Method getMethod(Class<?> clazz, String fieldName) throws NoSuchMethodException {
-        Method method = null;
-        String methodName = "get" + capitalize(fieldName);
-        try {
-            method = clazz.getDeclaredMethod(methodName);
-        } catch (NoSuchMethodException e) { //不存在该方法，查看父类是否存在。此处只支持一级父类
-            if (null != clazz.getSuperclass()) {
-                method = clazz.getSuperclass().getDeclaredMethod(methodName);
-            }
-        }
-        if (null == method) {
-            throw new NoSuchMethodException(clazz.getName() + " don't have method --> " + methodName);
-        }
-        return method;
-    }
-
     /**
      * 校验导入方法参数是否正确
      * @param filePath 文件路径
@@ -317,25 +614,89 @@ public class ExcelUtil {
     }
 
     /**
-     * 首字母大写
+     * 把SAX解析出的单元格组装成行, 交给{@link ExcelRowHandler}
      */
-    private static String capitalize(final String str) {
-        int strLen;
-        if (str == null || (strLen = str.length()) == 0) {
-            return str;
+    private static class RowCollector implements SheetContentsHandler {
+
+        private final ExcelRowHandler handler;
+
+        private final String nullValue;
+
+        /**
+         * 表头, 读取第一行后确定
+         */
+        private List<HeaderKey> headerKeys;
+
+        /**
+         * 当前行的单元格, 下标为列号
+         */
+        private String[] values = new String[16];
+
+        private int maxColumn;
+
+        private int nextColumn;
+
+        RowCollector(ExcelRowHandler handler, String nullValue) {
+            this.handler = handler;
+            this.nullValue = nullValue;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            maxColumn = -1;
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            //没有单元格引用时按顺序排列
+            int column = cellReference == null ? nextColumn : new CellReference(cellReference).getCol();
+            nextColumn = column + 1;
+            if (headerKeys != null && column >= headerKeys.size()) {
+                return;
+            }
+            if (column >= values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, column + 1));
+            }
+            values[column] = formattedValue;
+            maxColumn = Math.max(maxColumn, column);
         }
 
-        final char firstChar = str.charAt(0);
-        final char newChar = Character.toTitleCase(firstChar);
-        if (firstChar == newChar) {
-            // already capitalized
-            return str;
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                if (headerKeys == null) {
+                    headerKeys = new ArrayList<>(maxColumn + 1);
+                    for (int i = 0; i <= maxColumn; i++) {
+                        headerKeys.add(new HeaderKey(KEY_PREFIX + i, values[i] == null ? CELL_PREFIX + i : values[i]));
+                    }
+                    handler.onHeader(headerKeys);
+                } else if (maxColumn >= 0) {
+                    List<String> data = new ArrayList<>(headerKeys.size());
+                    for (int i = 0; i < headerKeys.size(); i++) {
+                        data.add(i <= maxColumn && values[i] != null ? values[i] : nullValue);
+                    }
+                    handler.onRow(rowNum, data);
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                //SAX回调不能抛出受检异常, 由readSheet解开
+                throw new HandlerException(e);
+            } finally {
+                Arrays.fill(values, 0, maxColumn + 1, null);
+            }
         }
+    }
 
-        char[] newChars = new char[strLen];
-        newChars[0] = newChar;
-        str.getChars(1, strLen, newChars, 1);
-        return String.valueOf(newChars);
+    /**
+     * 包装行处理器抛出的受检异常
+     */
+    private static class HandlerException extends RuntimeException {
+
+        HandlerException(Exception cause) {
+            super(cause);
+        }
     }
 
 }
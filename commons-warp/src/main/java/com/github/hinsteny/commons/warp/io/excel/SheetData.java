@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * 单个sheet页的数据，第一行为表头，其余为数据
+ * 单个sheet页的数据，第一行为表头，其余为数据, 大表格使用按列存储的{@link ColumnarSheetData}
  *
  * @author Hinsteny
  * @version SheetData: SheetData 2019-05-10 09:41 All rights reserved.$
@@ -6,6 +6,7 @@
 module com.github.hinsteny.commons.warp {
 
     requires java.xml;
+    requires java.net.http;
     requires java.xml.bind;
     requires java.annotation;
 
@@ -0,0 +1,90 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.alibaba.fastjson.JSON;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ParamType;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version AsyncHttpClientTest: 2026-10-18 17:20 All rights reserved.$
+ */
+public class AsyncHttpClientTest {
+
+    private LocalHttpServer server;
+
+    private String baseUrl;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            if (!"/echo".equals(request.path())) {
+                return new LocalHttpServer.Response(404, "");
+            }
+            Map<String, String> content = new HashMap<>();
+            content.put("method", request.method);
+            content.put("query", request.query());
+            content.put("type", request.headers.get("content-type"));
+            content.put("body", request.bodyText());
+            return new LocalHttpServer.Response(200, JSON.toJSONString(content)).header("Content-Type", "application/json; charset=UTF-8");
+        });
+        baseUrl = server.baseUrl();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testSendAsync() {
+        Map<String, String> params = new HashMap<>();
+        params.put("user", "Hinsteny");
+        HttpRequest get = new HttpRequest(baseUrl + "/echo", MethodType.GET, ParamType.QUERY, params);
+        CompletableFuture<Map<String, String>> getFuture = INSTANCE.getAsyncInstance().sendBackMapAsync(get);
+
+        HttpRequest form = new HttpRequest(baseUrl + "/echo", MethodType.POST, ParamType.X_WWW_FORM_URLENCODED, params);
+        CompletableFuture<Map<String, String>> formFuture = INSTANCE.getAsyncInstance().sendBackMapAsync(form);
+
+        HttpRequest json = new HttpRequest(baseUrl + "/echo", MethodType.POST, ParamType.APPLICATION_JSON, "{\"a\":1}");
+        json.setPreHandleResponse(response -> "status=" + response.getStatusLine().getStatusCode() + "," + EntityUtils.toString(response.getEntity()));
+        CompletableFuture<String> jsonFuture = INSTANCE.getAsyncInstance().sendBackStringAsync(json);
+
+        Map<String, String> getResult = getFuture.join();
+        Assert.assertEquals(getResult.get("method"), "GET");
+        Assert.assertEquals(getResult.get("query"), "user=Hinsteny");
+        Map<String, String> formResult = formFuture.join();
+        Assert.assertEquals(formResult.get("method"), "POST");
+        Assert.assertEquals(formResult.get("body"), "user=Hinsteny");
+        Assert.assertTrue(formResult.get("type").startsWith("application/x-www-form-urlencoded"));
+        String jsonResult = jsonFuture.join();
+        Assert.assertTrue(jsonResult.startsWith("status=200,"));
+        Assert.assertTrue(jsonResult.contains("\"body\":\"{\\\"a\\\":1}\""));
+    }
+
+    @Test
+    public void testInvalidStatus() {
+        HttpRequest request = new HttpRequest(baseUrl + "/missing", MethodType.GET, "");
+        try {
+            INSTANCE.getAsyncInstance().sendBackStringAsync(request).join();
+            Assert.fail("expected http exception");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof HttpException);
+            Assert.assertEquals(((HttpException) e.getCause()).getErrorCode(), "12005");
+        }
+    }
+
+}
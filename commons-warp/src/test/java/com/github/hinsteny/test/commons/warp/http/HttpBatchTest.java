@@ -0,0 +1,96 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.HttpClientProfile;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.HttpResult;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ResponseType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpBatchTest: 2026-10-18 18:05 All rights reserved.$
+ */
+public class HttpBatchTest {
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            if (request.path().startsWith("/slow")) {
+                try {
+                    Thread.sleep(3000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (request.path().startsWith("/error")) {
+                return new LocalHttpServer.Response(500, "");
+            }
+            return new LocalHttpServer.Response(200, request.path());
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testSendAllWithDeadline() {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(new HttpRequest(server.baseUrl() + "/fast/" + i, MethodType.GET, ""));
+        }
+        requests.add(new HttpRequest(server.baseUrl() + "/slow", MethodType.GET, ""));
+        requests.add(new HttpRequest(server.baseUrl() + "/error", MethodType.GET, ""));
+
+        //预热连接池, 避免初始化耗时计入截止时间
+        HttpClient client = INSTANCE.getInstance();
+        client.sendAll(requests.subList(0, 1), ResponseType.STRING, 5, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        List<HttpResult<String>> results = client.sendAll(requests, ResponseType.STRING, 1, TimeUnit.SECONDS);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsed < 2500, "elapsed " + elapsed);
+
+        Assert.assertEquals(results.size(), 22);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(results.get(i).isSuccess());
+            Assert.assertEquals(results.get(i).getValue(), "/fast/" + i);
+        }
+        Assert.assertEquals(results.get(20).getException().getErrorCode(), "21001");
+        Assert.assertEquals(results.get(21).getException().getErrorCode(), "12005");
+    }
+
+    @Test
+    public void testTimeoutReleasesConnection() throws InterruptedException {
+        INSTANCE.register(HttpClientProfile.builder("batch-abort").maxTotal(4).defaultMaxPerRoute(4).build());
+        HttpClient client = INSTANCE.getInstance("batch-abort");
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            requests.add(new HttpRequest(server.baseUrl() + "/slow/" + i, MethodType.GET, ""));
+        }
+        List<HttpResult<String>> results = client.sendAll(requests, ResponseType.STRING, 300, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(results.stream().noneMatch(HttpResult::isSuccess));
+
+        //超时的请求被中断, 不需要等到服务端返回就归还连接
+        long deadline = System.currentTimeMillis() + 1000;
+        while (client.getPoolStats().getLeased() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(client.getPoolStats().getLeased(), 0);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.Http2Client;
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.HttpClientProfile;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.protocol.HttpClientProtocol;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.HttpResult;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ResponseType;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpClientProfileTest: 2026-10-18 18:50 All rights reserved.$
+ */
+public class HttpClientProfileTest {
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new LocalHttpServer.Response(200, "ok");
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testRoutePoolIsolation() {
+        HttpClientProfile profile = HttpClientProfile.builder("slow-partner")
+            .maxPerRoute(server.baseUrl(), 1)
+            .connectionRequestTimeout(200)
+            .evictIdleTime(30000)
+            .timeToLive(60000)
+            .build();
+        HttpClientProtocol registered = INSTANCE.register(profile);
+        HttpClient client = INSTANCE.getInstance("slow-partner");
+        Assert.assertSame(registered, client);
+        Assert.assertSame(INSTANCE.getInstance(HttpClientProfile.DEFAULT_NAME), INSTANCE.getInstance());
+        try {
+            INSTANCE.register(profile);
+            Assert.fail("expected duplicate profile");
+        } catch (IllegalArgumentException e) {
+            //ignore
+        }
+
+        List<HttpRequest> requests = Arrays.asList(new HttpRequest(server.baseUrl(), MethodType.GET, ""),
+            new HttpRequest(server.baseUrl(), MethodType.GET, ""));
+        //该路由只有一个连接, 第二个请求等待连接超时
+        List<HttpResult<String>> limited = client.sendAll(requests, ResponseType.STRING, 5, TimeUnit.SECONDS);
+        Assert.assertEquals(limited.stream().filter(HttpResult::isSuccess).count(), 1);
+        Assert.assertEquals(limited.stream().filter(result -> !result.isSuccess()).findFirst().get().getException().getErrorCode(), "21000");
+
+        //默认client使用自己的连接池, 不受影响
+        List<HttpResult<String>> shared = INSTANCE.getInstance().sendAll(requests, ResponseType.STRING, 5, TimeUnit.SECONDS);
+        Assert.assertTrue(shared.stream().allMatch(HttpResult::isSuccess));
+    }
+
+    @Test
+    public void testBuilderCreatesNewProfile() {
+        HttpClientProfile.Builder builder = HttpClientProfile.builder("reused").maxTotal(10).maxPerRoute("api.partner.com", 5);
+        HttpClientProfile first = builder.build();
+        HttpClientProfile second = builder.maxTotal(20).maxPerRoute("api.other.com", 8).build();
+        //已生成的配置不受builder后续修改影响
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getMaxTotal(), 10);
+        Assert.assertEquals(first.getMaxPerRoute().size(), 1);
+        Assert.assertEquals(second.getMaxTotal(), 20);
+        Assert.assertEquals(second.getMaxPerRoute().size(), 2);
+    }
+
+    @Test
+    public void testHttp2Profile() throws HttpException {
+        INSTANCE.register(HttpClientProfile.builder("http2-partner").http2(true).socketTimeout(5000).build());
+        HttpClientProtocol client = INSTANCE.getProtocol("http2-partner");
+        Assert.assertTrue(client instanceof Http2Client);
+        try {
+            INSTANCE.getInstance("http2-partner");
+            Assert.fail("expected http/1.1 profile");
+        } catch (IllegalArgumentException e) {
+            //ignore
+        }
+        //服务端只支持HTTP/1.1时自动降级
+        Assert.assertEquals(client.sendBackString(new HttpRequest(server.baseUrl(), MethodType.GET, "")), "ok");
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.HttpClientProfile;
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.metrics.HttpMetrics;
+import com.github.hinsteny.commons.warp.http.metrics.LatencyHistogram;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpMetricsTest: 2026-10-18 22:40 All rights reserved.$
+ */
+public class HttpMetricsTest {
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> new LocalHttpServer.Response("/ok".equals(request.path()) ? 200 : 500, "ok"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(histogram.getCount(), 10000);
+        Assert.assertEquals(histogram.getMax(), 10000);
+        Assert.assertEquals(histogram.getMean(), 5000);
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        Assert.assertTrue(p50 >= 5000 && p50 <= 5000 * 17 / 16, "p50 " + p50);
+        Assert.assertTrue(p99 >= 9900 && p99 <= 10000, "p99 " + p99);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 10000);
+        histogram.reset();
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 0);
+    }
+
+    @Test
+    public void testClientMetrics() throws HttpException {
+        INSTANCE.register(HttpClientProfile.builder("metrics-test").build());
+        HttpClient client = INSTANCE.getInstance("metrics-test");
+        List<String> errors = new CopyOnWriteArrayList<>();
+        client.getMetrics().addListener((route, latencyNanos, errorCode) -> errors.add(String.valueOf(errorCode)));
+
+        for (int i = 0; i < 5; i++) {
+            client.sendBackString(new HttpRequest(server.baseUrl() + "/ok", MethodType.GET, ""));
+        }
+        try {
+            client.sendBackString(new HttpRequest(server.baseUrl() + "/error", MethodType.GET, ""));
+            Assert.fail("expected http exception");
+        } catch (HttpException e) {
+            Assert.assertEquals(e.getErrorCode(), HttpErrorCode.ASK_RESPONSE_INVALID.getCode());
+        }
+
+        String route = HttpMetrics.routeOf(server.baseUrl());
+        HttpMetrics.RouteMetrics metrics = client.getMetrics().getRoute(route);
+        Assert.assertEquals(metrics.getLatency().getCount(), 6);
+        Assert.assertEquals(metrics.getInFlight(), 0);
+        Assert.assertEquals(metrics.getErrorCount(HttpErrorCode.ASK_RESPONSE_INVALID), 1);
+        Assert.assertEquals(errors.size(), 6);
+        Assert.assertEquals(errors.get(5), HttpErrorCode.ASK_RESPONSE_INVALID.getCode());
+
+        Assert.assertEquals(client.getPoolStats().getLeased(), 0);
+        Assert.assertTrue(client.getRoutePoolStats().containsKey(route));
+    }
+
+    @Test
+    public void testRouteOf() {
+        Assert.assertEquals(HttpMetrics.routeOf("https://api.partner.com/v1/orders?id=1"), "https://api.partner.com:443");
+        Assert.assertEquals(HttpMetrics.routeOf("http://api.partner.com:8080?id=2"), "http://api.partner.com:8080");
+        Assert.assertEquals(HttpMetrics.routeOf("http://api.partner.com"), "http://api.partner.com:80");
+        //无效地址统一统计, 不会每个地址一个路由
+        Assert.assertEquals(HttpMetrics.routeOf("not a uri 1"), HttpMetrics.UNKNOWN_ROUTE);
+        Assert.assertEquals(HttpMetrics.routeOf("http://bad host/2"), HttpMetrics.UNKNOWN_ROUTE);
+        Assert.assertEquals(HttpMetrics.routeOf(null), HttpMetrics.UNKNOWN_ROUTE);
+    }
+
+}
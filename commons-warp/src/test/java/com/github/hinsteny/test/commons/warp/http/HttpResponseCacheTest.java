@@ -0,0 +1,114 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.HttpClientProfile;
+import com.github.hinsteny.commons.warp.http.client.HttpResponseCache;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.message.BasicHeader;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpResponseCacheTest: 2026-10-18 21:20 All rights reserved.$
+ */
+public class HttpResponseCacheTest {
+
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            int count = counters.computeIfAbsent(request.path(), key -> new AtomicInteger()).incrementAndGet();
+            if ("/etag".equals(request.path())) {
+                if ("\"v1\"".equals(request.headers.get("if-none-match"))) {
+                    return new LocalHttpServer.Response(304, "").header("ETag", "\"v1\"");
+                }
+                return new LocalHttpServer.Response(200, "{\"rate\":\"6.5\"}").header("ETag", "\"v1\"")
+                    .header("Cache-Control", "no-cache");
+            }
+            if ("/account".equals(request.path())) {
+                return new LocalHttpServer.Response(200, "account of " + request.headers.get("authorization")).header("Cache-Control", "max-age=60");
+            }
+            if ("/private".equals(request.path())) {
+                return new LocalHttpServer.Response(200, "v" + count).header("Cache-Control", "private, max-age=60");
+            }
+            if ("/no-store".equals(request.path())) {
+                return new LocalHttpServer.Response(200, "v" + count).header("Cache-Control", "no-store, max-age=60");
+            }
+            return new LocalHttpServer.Response(200, request.path() + request.query()).header("Cache-Control", "max-age=60");
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        INSTANCE.register(HttpClientProfile.builder("cache-test").build());
+        HttpClient client = INSTANCE.getInstance("cache-test");
+        HttpResponseCache cache = new HttpResponseCache(2, 1024);
+        client.setResponseCache(cache);
+
+        HttpRequest config = new HttpRequest(server.baseUrl() + "/config?a=1", MethodType.GET, "");
+        Assert.assertEquals(client.sendBackString(config), "/configa=1");
+        byte[] bytes = client.sendBackByte(config);
+        bytes[0] = 'x';
+        Assert.assertEquals(client.sendBackString(config), "/configa=1");
+        Assert.assertEquals(counters.get("/config").get(), 1);
+
+        HttpRequest etag = new HttpRequest(server.baseUrl() + "/etag", MethodType.GET, "");
+        Assert.assertEquals(client.sendBackMap(etag).get("rate"), "6.5");
+        Map<String, String> revalidated = client.sendBackMap(etag);
+        Assert.assertEquals(revalidated.get("rate"), "6.5");
+        revalidated.put("rate", "0");
+        Assert.assertEquals(client.sendBackMap(etag).get("rate"), "6.5");
+        Assert.assertEquals(counters.get("/etag").get(), 3);
+
+        HttpRequest noStore = new HttpRequest(server.baseUrl() + "/no-store", MethodType.GET, "");
+        Assert.assertEquals(client.sendBackString(noStore), "v1");
+        Assert.assertEquals(client.sendBackString(noStore), "v2");
+
+        //最多两个条目, /config最久未使用被淘汰
+        client.sendBackString(new HttpRequest(server.baseUrl() + "/other", MethodType.GET, ""));
+        Assert.assertEquals(cache.size(), 2);
+        client.sendBackString(config);
+        Assert.assertEquals(counters.get("/config").get(), 2);
+    }
+
+    @Test
+    public void testCacheKeyIncludesHeaders() throws Exception {
+        INSTANCE.register(HttpClientProfile.builder("cache-header-test").build());
+        HttpClient client = INSTANCE.getInstance("cache-header-test");
+        client.setResponseCache(new HttpResponseCache(16, 1024));
+
+        //不同调用方的Authorization不共用缓存
+        HttpRequest alice = new HttpRequest(server.baseUrl() + "/account", MethodType.GET,
+            Collections.singletonList(new BasicHeader("Authorization", "alice")), "");
+        HttpRequest bob = new HttpRequest(server.baseUrl() + "/account", MethodType.GET,
+            Collections.singletonList(new BasicHeader("Authorization", "bob")), "");
+        Assert.assertEquals(client.sendBackString(alice), "account of alice");
+        Assert.assertEquals(client.sendBackString(bob), "account of bob");
+        Assert.assertEquals(client.sendBackString(alice), "account of alice");
+        Assert.assertEquals(counters.get("/account").get(), 2);
+
+        HttpRequest personal = new HttpRequest(server.baseUrl() + "/private", MethodType.GET, "");
+        Assert.assertEquals(client.sendBackString(personal), "v1");
+        Assert.assertEquals(client.sendBackString(personal), "v2");
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.HttpClientProfile;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.HttpResult;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ResponseType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpSingleFlightTest: 2026-10-18 21:40 All rights reserved.$
+ */
+public class HttpSingleFlightTest {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            counter.incrementAndGet();
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new LocalHttpServer.Response(200, "{\"rate\":\"6.5\"}");
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        INSTANCE.register(HttpClientProfile.builder("single-flight-test").build());
+        HttpClient client = INSTANCE.getInstance("single-flight-test");
+        client.setSingleFlight(true);
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/rates", MethodType.GET, "");
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> client.sendBackMap(request)));
+            }
+            Map<Map<String, String>, Boolean> distinct = new IdentityHashMap<>();
+            for (Future<Map<String, String>> future : futures) {
+                Map<String, String> result = future.get();
+                Assert.assertEquals(result.get("rate"), "6.5");
+                distinct.put(result, Boolean.TRUE);
+            }
+            //每个调用方拿到独立的结果对象
+            Assert.assertEquals(distinct.size(), 32);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(counter.get(), 1);
+
+        //请求结束后不再合并
+        client.sendBackString(request);
+        Assert.assertEquals(counter.get(), 2);
+    }
+
+    @Test
+    public void testWaiterRetriesWhenLeaderTimesOut() throws Exception {
+        INSTANCE.register(HttpClientProfile.builder("single-flight-abort").build());
+        HttpClient client = INSTANCE.getInstance("single-flight-abort");
+        client.setSingleFlight(true);
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/abort", MethodType.GET, "");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            int before = counter.get();
+            Future<List<HttpResult<String>>> leader = executor.submit(
+                () -> client.sendAll(Collections.singletonList(request), ResponseType.STRING, 200, TimeUnit.MILLISECONDS));
+            Thread.sleep(50);
+            //第一个请求超时被中断后, 等待的请求自己重新发起, 不会拿到第一个请求的错误
+            Assert.assertEquals(client.sendBackMap(request).get("rate"), "6.5");
+            Assert.assertFalse(leader.get().get(0).isSuccess());
+            Assert.assertEquals(counter.get() - before, 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.alibaba.fastjson.TypeReference;
+import com.github.hinsteny.commons.core.io.csv.CSVFormat;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version HttpStreamTest: 2026-10-18 19:20 All rights reserved.$
+ */
+public class HttpStreamTest {
+
+    private static final Charset GBK = Charset.forName("GBK");
+
+    private LocalHttpServer server;
+
+    private String csv;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        StringBuilder content = new StringBuilder("编号,名称\r\n");
+        for (int i = 0; i < 10000; i++) {
+            content.append(i).append(",\"名称,").append(i).append("\"\r\n");
+        }
+        csv = content.toString();
+        server = new LocalHttpServer(request -> {
+            if (request.path().endsWith(".json")) {
+                return new LocalHttpServer.Response(200, "{\"code\":\"0000\",\"name\":\"名称\",\"total\":12}".getBytes(GBK))
+                    .header("Content-Type", "application/json; charset=GBK");
+            }
+            return new LocalHttpServer.Response(200, csv.getBytes(GBK)).header("Content-Type", "text/csv; charset=GBK");
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testStreamResponse() throws Exception {
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/report.csv", MethodType.GET, "");
+
+        Assert.assertEquals(INSTANCE.getInstance().sendBackString(request), csv);
+
+        List<String> names = new ArrayList<>();
+        long records = INSTANCE.getInstance().sendForCSV(request, CSVFormat.DEFAULT, line -> names.add(line.tokens()[1]));
+        Assert.assertEquals(records, 10001);
+        Assert.assertEquals(names.get(0), "名称");
+        Assert.assertEquals(names.get(10000), "名称,9999");
+
+        Path target = Files.createTempFile("http-stream", ".csv");
+        try {
+            long size = INSTANCE.getInstance().sendToFile(request, target);
+            Assert.assertEquals(size, csv.getBytes(GBK).length);
+            Assert.assertEquals(new String(Files.readAllBytes(target), GBK), csv);
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testDecodeJson() throws Exception {
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/data.json", MethodType.GET, "");
+
+        Map<String, String> map = INSTANCE.getInstance().sendBackMap(request);
+        Assert.assertEquals(map.get("name"), "名称");
+        Assert.assertEquals(map.get("total"), "12");
+        map.put("extra", "mutable");
+
+        Map<String, Object> result = INSTANCE.getInstance().sendForObject(request, new TypeReference<Map<String, Object>>() {
+        }.getType());
+        Assert.assertEquals(result.get("name"), "名称");
+        Assert.assertEquals(result.get("total"), 12);
+
+        HttpRequest csvRequest = new HttpRequest(server.baseUrl() + "/report.csv", MethodType.GET, "");
+        Assert.assertEquals(INSTANCE.getInstance().sendBackMap(csvRequest).get("response"), csv);
+    }
+
+}
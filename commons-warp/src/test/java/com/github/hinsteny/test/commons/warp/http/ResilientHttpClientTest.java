@@ -0,0 +1,180 @@
+package com.github.hinsteny.test.commons.warp.http;
+
+import static com.github.hinsteny.commons.warp.http.client.HttpClientsInstance.INSTANCE;
+
+import com.github.hinsteny.commons.warp.http.client.HttpClient;
+import com.github.hinsteny.commons.warp.http.client.ResiliencePolicy;
+import com.github.hinsteny.commons.warp.http.client.ResilientHttpClient;
+import com.github.hinsteny.commons.warp.http.exception.HttpErrorCode;
+import com.github.hinsteny.commons.warp.http.exception.HttpException;
+import com.github.hinsteny.commons.warp.http.request.HttpRequest;
+import com.github.hinsteny.commons.warp.http.request.MethodType;
+import com.github.hinsteny.commons.warp.http.request.ResponseType;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.http.impl.client.HttpClients;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version ResilientHttpClientTest: 2026-10-18 20:40 All rights reserved.$
+ */
+public class ResilientHttpClientTest {
+
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    private volatile boolean down = true;
+
+    private LocalHttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalHttpServer(request -> {
+            int count = counters.computeIfAbsent(request.path(), key -> new AtomicInteger()).incrementAndGet();
+            if ("/flaky".equals(request.path()) && count <= 2) {
+                return new LocalHttpServer.Response(500, "");
+            }
+            if ("/down".equals(request.path()) && down) {
+                return new LocalHttpServer.Response(500, "");
+            }
+            if ("/slow".equals(request.path()) && count == 1) {
+                try {
+                    Thread.sleep(3000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new LocalHttpServer.Response(200, request.path());
+        });
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testRetry() throws HttpException {
+        ResiliencePolicy policy = ResiliencePolicy.builder().maxRetries(2).backoff(10, 50).retryOn(HttpErrorCode.ASK_RESPONSE_INVALID).build();
+        ResilientHttpClient client = new ResilientHttpClient(INSTANCE.getInstance(), policy);
+
+        Assert.assertEquals(client.sendBackString(new HttpRequest(server.baseUrl() + "/flaky", MethodType.GET, "")), "/flaky");
+        Assert.assertEquals(counters.get("/flaky").get(), 3);
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        ResiliencePolicy policy = ResiliencePolicy.builder().maxRetries(0).breaker(50, 4, 300).build();
+        ResilientHttpClient client = new ResilientHttpClient(INSTANCE.getInstance(), policy);
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/down", MethodType.GET, "");
+
+        for (int i = 0; i < 4; i++) {
+            assertErrorCode(client, request, HttpErrorCode.ASK_RESPONSE_INVALID);
+        }
+        assertErrorCode(client, request, HttpErrorCode.CIRCUIT_BREAKER_OPEN);
+        Assert.assertEquals(counters.get("/down").get(), 4);
+
+        down = false;
+        Thread.sleep(350);
+        Assert.assertEquals(client.sendBackString(request), "/down");
+        Assert.assertEquals(client.sendBackString(request), "/down");
+    }
+
+    @Test
+    public void testHedge() throws HttpException {
+        ResiliencePolicy policy = ResiliencePolicy.builder().hedge(true).hedgeDelay(95, 100, 128).build();
+        ResilientHttpClient client = new ResilientHttpClient(INSTANCE.getInstance(), policy);
+
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(client.sendBackString(new HttpRequest(server.baseUrl() + "/slow", MethodType.GET, "")), "/slow");
+        Assert.assertTrue(System.currentTimeMillis() - start < 2000);
+        Assert.assertEquals(counters.get("/slow").get(), 2);
+    }
+
+    @Test
+    public void testNoHedgeOnFastRoute() throws HttpException {
+        AtomicInteger calls = new AtomicInteger();
+        //耗时约0.5毫秒的下游
+        HttpClient fast = new HttpClient(HttpClients.createDefault()) {
+            @Override
+            public Object send(HttpRequest request, ResponseType responseType) {
+                calls.incrementAndGet();
+                LockSupport.parkNanos(500_000);
+                return "ok";
+            }
+        };
+        ResiliencePolicy policy = ResiliencePolicy.builder().hedge(true).hedgeDelay(95, 100, 20).build();
+        ResilientHttpClient client = new ResilientHttpClient(fast, policy);
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/fast", MethodType.GET, "");
+
+        //只有超过p95的少数请求发送对冲请求
+        for (int i = 0; i < 80; i++) {
+            Assert.assertEquals(client.sendBackString(request), "ok");
+        }
+        Assert.assertTrue(calls.get() < 100, "requests " + calls.get());
+    }
+
+    @Test
+    public void testInterruptedProbeReleased() throws Exception {
+        AtomicReference<String> mode = new AtomicReference<>("fail");
+        HttpClient stub = new HttpClient(HttpClients.createDefault()) {
+            @Override
+            public Object send(HttpRequest request, ResponseType responseType) throws HttpException {
+                if ("fail".equals(mode.get())) {
+                    throw new HttpException(HttpErrorCode.ASK_RESPONSE_INVALID);
+                }
+                if ("block".equals(mode.get())) {
+                    LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(5));
+                }
+                return "ok";
+            }
+        };
+        ResiliencePolicy policy = ResiliencePolicy.builder().maxRetries(0).hedge(true).hedgeDelay(95, 10000, 128).breaker(50, 2, 100).build();
+        ResilientHttpClient client = new ResilientHttpClient(stub, policy);
+        HttpRequest request = new HttpRequest(server.baseUrl() + "/probe", MethodType.GET, "");
+
+        assertErrorCode(client, request, HttpErrorCode.ASK_RESPONSE_INVALID);
+        assertErrorCode(client, request, HttpErrorCode.ASK_RESPONSE_INVALID);
+        assertErrorCode(client, request, HttpErrorCode.CIRCUIT_BREAKER_OPEN);
+        Thread.sleep(150);
+
+        //半开状态的探测请求被中断
+        mode.set("block");
+        AtomicReference<String> probeError = new AtomicReference<>();
+        Thread probe = new Thread(() -> {
+            try {
+                client.sendBackString(request);
+            } catch (HttpException e) {
+                probeError.set(e.getErrorCode());
+            }
+        });
+        probe.start();
+        Thread.sleep(100);
+        probe.interrupt();
+        probe.join(2000);
+        Assert.assertEquals(probeError.get(), HttpErrorCode.ASK_SEND_TIMEOUT.getCode());
+
+        //下一个请求可以继续探测并关闭熔断
+        mode.set("ok");
+        Assert.assertEquals(client.sendBackString(request), "ok");
+        Assert.assertEquals(client.sendBackString(request), "ok");
+    }
+
+    private void assertErrorCode(ResilientHttpClient client, HttpRequest request, HttpErrorCode errorCode) {
+        try {
+            client.sendBackString(request);
+            Assert.fail("expected http exception");
+        } catch (HttpException e) {
+            Assert.assertEquals(e.getErrorCode(), errorCode.getCode());
+        }
+    }
+
+}
@@ -0,0 +1,354 @@
+package com.github.hinsteny.test.commons.warp.io.excel;
+
+import com.github.hinsteny.commons.warp.io.excel.ColumnarSheetData;
+import com.github.hinsteny.commons.warp.io.excel.ExcelRowHandler;
+import com.github.hinsteny.commons.warp.io.excel.ExcelUtil;
+import com.github.hinsteny.commons.warp.io.excel.HeaderKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Hinsteny
+ * @version ExcelUtilTest: 2026-10-18 23:00 All rights reserved.$
+ */
+public class ExcelUtilTest {
+
+    private Path file;
+
+    @BeforeClass
+    public void createFile() throws IOException {
+        file = Files.createTempFile("excel-util-test", ".xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(2).setCellValue("amount");
+            for (int i = 1; i <= 1000; i++) {
+                //第10行为空行
+                if (i == 10) {
+                    continue;
+                }
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("order-" + i);
+                row.createCell(2).setCellValue(i);
+                row.createCell(3).setCellValue("ignored");
+            }
+            workbook.write(os);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReadSheet() throws Exception {
+        List<HeaderKey> headerKeys = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        ExcelUtil.readSheet(file.toString(), 0, new ExcelRowHandler() {
+            @Override
+            public void onHeader(List<HeaderKey> keys) {
+                headerKeys.addAll(keys);
+            }
+
+            @Override
+            public void onRow(int rowNum, List<String> data) {
+                rows.add(data);
+            }
+        });
+        Assert.assertEquals(headerKeys.size(), 3);
+        Assert.assertEquals(headerKeys.get(1).getName(), "CELL1");
+        Assert.assertEquals(headerKeys.get(2).getKey(), "KEY2");
+        Assert.assertEquals(rows.size(), 999);
+        Assert.assertEquals(rows.get(0), Arrays.asList("order-1", "NULL", "1"));
+        Assert.assertEquals(rows.get(998), Arrays.asList("order-1000", "NULL", "1000"));
+    }
+
+    @Test
+    public void testColumnarSheetData() throws Exception {
+        ColumnarSheetData data = ExcelUtil.convertSheetDataAsColumns(file.toString());
+        Assert.assertEquals(data.getRowCount(), 999);
+        Assert.assertEquals(data.getColumnCount(), 3);
+        ColumnarSheetData.Column amount = data.getColumn("KEY2");
+        Assert.assertEquals(amount.getType(), ColumnarSheetData.ColumnType.LONG);
+        long total = 0;
+        for (int i = 0; i < data.getRowCount(); i++) {
+            total += amount.getLong(i);
+        }
+        Assert.assertEquals(total, 1000 * 1001 / 2 - 10);
+        Assert.assertEquals(data.getColumn(0).getType(), ColumnarSheetData.ColumnType.STRING);
+        Assert.assertTrue(data.getColumn(1).isNull(0));
+        Assert.assertEquals(data.getRow(998).toList(), Arrays.asList("order-1000", null, "1000"));
+
+        //出现非数值后转为字符串列, 原值保持不变
+        Path mixed = Files.createTempFile("excel-util-mixed", ".xlsx");
+        try {
+            try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(mixed)) {
+                Sheet sheet = workbook.createSheet();
+                sheet.createRow(0).createCell(0).setCellValue("code");
+                String[] values = {"12", "3.5", "007", "12"};
+                for (int i = 0; i < values.length; i++) {
+                    sheet.createRow(i + 1).createCell(0).setCellValue(values[i]);
+                }
+                sheet.createRow(5).createCell(1).setCellValue("ignored");
+                workbook.write(os);
+            }
+            ColumnarSheetData.Column code = ExcelUtil.convertSheetDataAsColumns(mixed.toString()).getColumn(0);
+            Assert.assertEquals(code.getType(), ColumnarSheetData.ColumnType.STRING);
+            //只有表头之外的列有值的行按空行跳过
+            Assert.assertEquals(code.size(), 4);
+            Assert.assertEquals(code.getString(1), "3.5");
+            Assert.assertEquals(code.getString(2), "007");
+            Assert.assertEquals(code.getString(3), "12");
+        } finally {
+            Files.deleteIfExists(mixed);
+        }
+
+        //整数后出现小数时提升为小数列, 整数行仍返回原值
+        Path decimals = Files.createTempFile("excel-util-decimals", ".xlsx");
+        try {
+            try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(decimals)) {
+                Sheet sheet = workbook.createSheet();
+                sheet.createRow(0).createCell(0).setCellValue("amount");
+                String[] values = {"100", "99.5", "-3"};
+                for (int i = 0; i < values.length; i++) {
+                    sheet.createRow(i + 1).createCell(0).setCellValue(values[i]);
+                }
+                workbook.write(os);
+            }
+            ColumnarSheetData.Column promoted = ExcelUtil.convertSheetDataAsColumns(decimals.toString()).getColumn(0);
+            Assert.assertEquals(promoted.getType(), ColumnarSheetData.ColumnType.DOUBLE);
+            Assert.assertEquals(promoted.getString(0), "100");
+            Assert.assertEquals(promoted.getDouble(1), 99.5);
+            Assert.assertEquals(promoted.getString(1), "99.5");
+            Assert.assertEquals(promoted.getString(2), "-3");
+            Assert.assertEquals(promoted.getLong(2), -3L);
+        } finally {
+            Files.deleteIfExists(decimals);
+        }
+    }
+
+    @Test
+    public void testReadFiles() throws Exception {
+        List<String> paths = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                Path path = Files.createTempFile("excel-util-batch", ".xlsx");
+                paths.add(path.toString());
+                try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(path)) {
+                    for (String name : new String[]{"summary", "detail"}) {
+                        Sheet sheet = workbook.createSheet(name);
+                        sheet.createRow(0).createCell(0).setCellValue("value");
+                        for (int j = 1; j <= 100; j++) {
+                            sheet.createRow(j).createCell(0).setCellValue(name + "-" + j);
+                        }
+                    }
+                    workbook.write(os);
+                }
+            }
+            paths.add("/not/exists.xlsx");
+
+            Map<String, Integer> counts = new ConcurrentHashMap<>();
+            Map<String, Exception> failures = ExcelUtil.readFiles(paths, 2, (filePath, sheetIndex, sheetName) -> {
+                if (!"detail".equals(sheetName)) {
+                    return null;
+                }
+                return (rowNum, data) -> {
+                    Assert.assertTrue(data.get(0).startsWith("detail-"));
+                    counts.merge(filePath + "#" + sheetIndex, 1, Integer::sum);
+                };
+            });
+            Assert.assertEquals(failures.keySet(), Collections.singleton("/not/exists.xlsx"));
+            Assert.assertEquals(counts.size(), 4);
+            Assert.assertTrue(counts.values().stream().allMatch(count -> count == 100));
+            Assert.assertTrue(counts.keySet().stream().allMatch(key -> key.endsWith("#1")));
+        } finally {
+            for (String path : paths) {
+                Files.deleteIfExists(Paths.get(path));
+            }
+        }
+    }
+
+    @Test
+    public void testHandlerException() throws Exception {
+        try {
+            ExcelUtil.readSheet(file.toString(), 0, (rowNum, data) -> {
+                throw new IOException("stop at " + rowNum);
+            });
+            Assert.fail("expected handler exception");
+        } catch (IOException e) {
+            Assert.assertEquals(e.getMessage(), "stop at 1");
+        }
+    }
+
+    @Test
+    public void testTypedExport() throws Exception {
+        Path target = Files.createTempFile("excel-util-typed", ".xlsx");
+        try {
+            Order order = new Order("order-1", 12);
+            order.setPaid(true);
+            order.setCreateDate(LocalDate.of(2026, 10, 18));
+            ExcelUtil.export(target.toString(), null, Arrays.asList(order, new Order("order-2", 3)),
+                new String[]{"订单号", "金额", "已支付", "创建日期", "超长编号", "卡号", "序号"},
+                new String[]{"orderNo", "amount", "paid", "createDate", "serialNo", "cardNo", "sequence"});
+            List<List<String>> rows = new ArrayList<>();
+            ExcelUtil.readSheet(target.toString(), 0, (rowNum, data) -> rows.add(data));
+            Assert.assertEquals(rows.get(0), Arrays.asList("order-1", "12", "TRUE", "2026-10-18", "12345678901234567890", "6222021234567890", "1234567890"));
+            Assert.assertEquals(rows.get(1), Arrays.asList("order-2", "3", "FALSE", "NULL", "12345678901234567890", "6222021234567890", "1234567890"));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testExportBeanInOtherModule() throws Exception {
+        //由独立的类加载器加载, 位于该加载器的未命名模块中, 与ExcelUtil不在同一个模块
+        Class<?> type = new IsolatedClassLoader().load(ExportRecord.class);
+        Assert.assertNotSame(type.getModule(), ExcelUtil.class.getModule());
+        Object record = type.getConstructor().newInstance();
+        type.getMethod("setName", String.class).invoke(record, "partner");
+        type.getMethod("setAmount", long.class).invoke(record, 42L);
+
+        Path target = Files.createTempFile("excel-util-module", ".xlsx");
+        try {
+            ExcelUtil.export(target.toString(), null, Collections.singletonList(record), new String[]{"名称", "金额"},
+                new String[]{"name", "amount"});
+            List<List<String>> rows = new ArrayList<>();
+            ExcelUtil.readSheet(target.toString(), 0, (rowNum, data) -> rows.add(data));
+            Assert.assertEquals(rows, Collections.singletonList(Arrays.asList("partner", "42")));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testStreamingExport() throws Exception {
+        Path target = Files.createTempFile("excel-util-export", ".xlsx");
+        try {
+            //超过xls的65536行限制
+            int total = 70000;
+            ExcelUtil.export(target.toString(), "orders", IntStream.rangeClosed(1, total).mapToObj(i -> new Order("order-" + i, i)),
+                new String[]{"订单号", "金额"}, new String[]{"orderNo", "amount"});
+            List<String> headers = new ArrayList<>();
+            AtomicInteger count = new AtomicInteger();
+            List<String> last = new ArrayList<>();
+            ExcelUtil.readSheet(target.toString(), 0, new ExcelRowHandler() {
+                @Override
+                public void onHeader(List<HeaderKey> keys) {
+                    keys.forEach(key -> headers.add(key.getName()));
+                }
+
+                @Override
+                public void onRow(int rowNum, List<String> data) {
+                    count.incrementAndGet();
+                    last.clear();
+                    last.addAll(data);
+                }
+            });
+            Assert.assertEquals(headers, Arrays.asList("订单号", "金额"));
+            Assert.assertEquals(count.get(), total);
+            Assert.assertEquals(last, Arrays.asList("order-70000", "70000"));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    /**
+     * 只从测试类目录加载指定类的类加载器
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        IsolatedClassLoader() {
+            super(ClassLoader.getPlatformClassLoader());
+        }
+
+        Class<?> load(Class<?> type) throws IOException {
+            try (InputStream stream = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                byte[] bytes = stream.readAllBytes();
+                return defineClass(type.getName(), bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    public static class Entity {
+
+        private LocalDate createDate;
+
+        public LocalDate getCreateDate() {
+            return createDate;
+        }
+
+        public void setCreateDate(LocalDate createDate) {
+            this.createDate = createDate;
+        }
+
+        public BigDecimal getSerialNo() {
+            return new BigDecimal("12345678901234567890");
+        }
+
+        public long getCardNo() {
+            //16位, 超过excel的15位有效数字, 按字符串写入
+            return 6222021234567890L;
+        }
+
+        public long getSequence() {
+            return 1234567890L;
+        }
+    }
+
+    public static class PayableEntity extends Entity {
+
+        private boolean paid;
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public void setPaid(boolean paid) {
+            this.paid = paid;
+        }
+    }
+
+    public static class Order extends PayableEntity {
+
+        private final String orderNo;
+
+        private final int amount;
+
+        Order(String orderNo, int amount) {
+            this.orderNo = orderNo;
+            this.amount = amount;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.hinsteny.test.commons.warp.io.excel;
+
+/**
+ * 不引用本模块类型的bean, 用于在其他模块中加载
+ *
+ * @author Hinsteny
+ * @version ExportRecord: 2026-10-19 09:40 All rights reserved.$
+ */
+public class ExportRecord {
+
+    private String name;
+
+    private long amount;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}